@@ -0,0 +1,18 @@
+package com.dockflow.backend.claude;
+
+import java.time.Duration;
+
+/* 서킷이 열려 있어 Claude API를 호출하지 않음 */
+public class CircuitOpenException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CircuitOpenException(Duration retryAfter) {
+        super("Claude API 장애로 호출을 일시 중단했습니다. (" + retryAfter.toSeconds() + "초 후 재개)");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,67 @@
+package com.dockflow.backend.claude;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/* Claude API 호출 오류 (재시도 가능 여부 분류) */
+public class ClaudeApiException extends RuntimeException {
+
+    public enum Type {
+        HTTP,             // API가 오류 상태 코드로 응답
+        TRANSPORT,        // 연결 실패, 타임아웃 등 네트워크 오류
+        INVALID_RESPONSE  // 응답은 받았지만 형식이 잘못됨
+    }
+
+    private final Type type;
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    private ClaudeApiException(Type type, int statusCode, Duration retryAfter, String message, Throwable cause) {
+        super(message, cause);
+        this.type = type;
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public static ClaudeApiException http(int statusCode, Duration retryAfter, String message) {
+        return new ClaudeApiException(Type.HTTP, statusCode, retryAfter, message, null);
+    }
+
+    public static ClaudeApiException transport(IOException cause) {
+        return new ClaudeApiException(Type.TRANSPORT, 0, null, "Claude API 통신 실패: " + cause.getMessage(), cause);
+    }
+
+    public static ClaudeApiException invalidResponse(String message, Throwable cause) {
+        return new ClaudeApiException(Type.INVALID_RESPONSE, 0, null, message, cause);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // 429 (rate limit), 529 (overloaded)
+    public boolean isOverloaded() {
+        return type == Type.HTTP && (statusCode == 429 || statusCode == 529);
+    }
+
+    // 일시적인 오류만 재시도 (400, 401, 403, 404, 413 등은 다시 보내도 같은 결과)
+    public boolean isRetryable() {
+        return switch (type) {
+            case TRANSPORT, INVALID_RESPONSE -> true;
+            case HTTP -> statusCode == 408 || statusCode == 409 || statusCode == 429 || statusCode >= 500;
+        };
+    }
+
+    // API 장애로 볼 수 있는 오류 (서킷 브레이커 집계 대상)
+    public boolean isServiceFailure() {
+        return type == Type.TRANSPORT || (type == Type.HTTP && statusCode >= 500);
+    }
+}
@@ -2,146 +2,452 @@ package com.dockflow.backend.claude;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class ClaudeApiService {
 
-    @Value("${claude.api.key}")
-    private String apiKey;
+    // 프롬프트를 바꾸면 올려서 이전 프롬프트로 만든 요약 캐시를 쓰지 않도록 함
+    public static final String PROMPT_VERSION = "v2";
 
-    @Value("${claude.api.model}")
-    private String model;
+    /* 요약 지시문 (모든 요청에 동일, 프롬프트 캐시 대상) */
+    private static final String SUMMARY_SYSTEM_PROMPT = """
+            사용자가 보낸 문서를 요약하고 주요 태그를 추출해주세요.
+            
+            요구사항:
+            1. **핵심 요약**: 문서의 주요 목적이나 결론을 1-2문장으로 작성
+            2. **주요 내용**: 핵심 포인트를 불릿 포인트로 3-5개 나열
+            3. **세부 사항**: 필요시 추가 설명을 1-2문장으로 작성
+            4. **태그**: 문서의 주요 키워드 3-5개 추출
+            
+            응답 형식 (반드시 JSON 형식으로, 줄바꿈은 \\n 사용):
+            {
+                "summary": "핵심 요약 문장.\\n\\n• 주요 내용 1\\n• 주요 내용 2\\n• 주요 내용 3\\n\\n세부 설명 문단.",
+                "tags": ["태그1", "태그2", "태그3"]
+            }
+            
+            예시:
+            {
+                "summary": "본 문서는 2024년 마케팅 전략 수립을 위한 시장 분석 보고서입니다.\\n\\n• 타겟 고객층: 25-35세 직장인\\n• 주요 채널: 인스타그램, 유튜브\\n• 예상 ROI: 150%\\n• 캠페인 기간: 3개월\\n\\n경쟁사 대비 차별화된 콘텐츠 전략으로 브랜드 인지도 향상을 목표로 합니다.",
+                "tags": ["마케팅전략", "시장분석", "소셜미디어", "ROI"]
+            }
+            """;
+
+    private static final int SUMMARY_SYSTEM_PROMPT_TOKENS = TokenEstimator.estimate(SUMMARY_SYSTEM_PROMPT);
 
-    @Value("${claude.api.max-tokens}")
-    private int maxTokens;
+    @Value("${claude.api.key}")
+    private String apiKey;
 
     @Value("${claude.api.temperature}")
     private double temperature;
 
-    private final OkHttpClient httpClient = new OkHttpClient();
+    @Value("${claude.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${claude.retry.initial-backoff-ms:1000}")
+    private long retryInitialBackoffMillis;
+
+    @Value("${claude.retry.max-backoff-ms:30000}")
+    private long retryMaxBackoffMillis;
+
+    private final OkHttpClient httpClient;
+    private final ClaudeRateLimiter rateLimiter;
+    private final ClaudeCircuitBreaker circuitBreaker;
+    private final ClaudeModelRouter modelRouter;
     private final Gson gson = new Gson();
 
 
-    /* 문서 요약 + 태그 생성 (한 번의 API 호출로 처리) */
+    /* 문서 요약 + 태그 생성 (한 번의 API 호출로 처리, 기본 모델) */
     public SummaryResult summarizeDocument(String documentText, String documentTitle) {
+        try {
+            return summarizeDocumentAsync(documentText, documentTitle, modelRouter.defaultModel()).join();
+        } catch (CompletionException e) {
+            log.error("Claude API 호출 실패", e.getCause());
+            throw new RuntimeException("AI 요약 생성에 실패했습니다.", e.getCause());
+        }
+    }
+
+    /* 문서 요약 + 태그 생성 (비동기, 응답 대기 중 워커 스레드를 점유하지 않음) */
+    public CompletableFuture<SummaryResult> summarizeDocumentAsync(String documentText, String documentTitle, String model) {
         String prompt = createSummaryPrompt(documentText, documentTitle);
+        CallGroup group = new CallGroup();
 
-        try {
-            String response = callClaudeApi(prompt);
-            return parseSummaryResponse(response);
-        } catch (IOException e) {
-            log.error("Claude API 호출 실패", e);
-            throw new RuntimeException("AI 요약 생성에 실패했습니다.", e);
+        return withRetry(() -> callClaudeApiAsync(prompt, model, group).thenApply(content -> parseSummaryResponse(content, model)), 1);
+    }
+
+    /* 긴 문서 요약 (구간별 요약을 병렬로 만든 뒤 하나로 합침, 병렬 수는 호출 한도가 조절) */
+    public CompletableFuture<SummaryResult> summarizeSectionsAsync(List<String> sections, String documentTitle, String model) {
+        if (sections.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("요약할 내용이 없습니다."));
+        }
+        if (sections.size() == 1) {
+            return summarizeDocumentAsync(sections.get(0), documentTitle, model);
+        }
+
+        log.info("구간별 요약 시작: title={}, 구간 수={}", documentTitle, sections.size());
+
+        // map: 구간별 요약 (같은 묶음으로 호출해서 함께 취소할 수 있게 함)
+        CallGroup group = new CallGroup();
+        List<CompletableFuture<SummaryResult>> partials = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            String prompt = createSectionPrompt(sections.get(i), documentTitle, i + 1, sections.size());
+            partials.add(withRetry(() -> callClaudeApiAsync(prompt, model, group).thenApply(content -> parseSummaryResponse(content, model)), 1));
         }
+
+        // reduce: 구간 요약과 태그를 합쳐 문서 전체 요약
+        return allOrFirstFailure(partials)
+                .whenComplete((ignored, e) -> {
+                    // 하나라도 실패하면 나머지 구간의 허가 대기와 진행 중인 HTTP 요청을 바로 취소 (결과를 못 쓰는 호출에 과금되지 않도록)
+                    if (e != null) {
+                        group.cancel();
+                    }
+                })
+                .thenCompose(ignored -> {
+                    List<SummaryResult> results = partials.stream().map(CompletableFuture::join).toList();
+                    String prompt = createMergePrompt(results, documentTitle);
+                    return withRetry(() -> callClaudeApiAsync(prompt, model, group).thenApply(content -> parseSummaryResponse(content, model)), 1);
+                });
     }
 
-    /* 요약 프롬프트 생성 */
-    private String createSummaryPrompt(String documentText, String documentTitle) {
+    // 모두 성공하면 완료, 하나라도 실패하면 나머지를 기다리지 않고 바로 실패 (빈 목록이면 바로 완료)
+    private static CompletableFuture<Void> allOrFirstFailure(List<? extends CompletableFuture<?>> futures) {
+        if (futures.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((value, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(unwrap(e));
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.complete(null);
+                }
+            });
+        }
+        return result;
+    }
+
+    /* 구간 요약 요청 메시지 생성 */
+    private String createSectionPrompt(String sectionText, String documentTitle, int index, int total) {
         return String.format("""
-            다음 문서를 요약하고 주요 태그를 추출해주세요.
+            문서 제목: %s (전체 %d개 부분 중 %d번째 부분)
             
+            문서 내용:
+            %s
+            """, documentTitle, total, index, sectionText);
+    }
+
+    /* 구간 요약 병합 요청 메시지 생성 */
+    private String createMergePrompt(List<SummaryResult> partials, String documentTitle) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("문서 제목: ").append(documentTitle).append("\n\n");
+        prompt.append("이 문서는 길어서 부분별로 먼저 요약했습니다. ");
+        prompt.append("아래 부분 요약들을 바탕으로 문서 전체에 대한 하나의 요약과 태그를 작성해주세요.\n\n");
+
+        for (int i = 0; i < partials.size(); i++) {
+            SummaryResult partial = partials.get(i);
+            prompt.append("[부분 ").append(i + 1).append(" 요약]\n");
+            prompt.append(partial.summary()).append("\n");
+            prompt.append("태그: ").append(String.join(", ", partial.tags())).append("\n\n");
+        }
+
+        return prompt.toString();
+    }
+
+    /* 요약 요청 메시지 생성 (문서마다 달라지는 제목과 본문만, 고정 지시문은 시스템 프롬프트로) */
+    private String createSummaryPrompt(String documentText, String documentTitle) {
+        return String.format("""
             문서 제목: %s
             
             문서 내용:
             %s
-            
-            요구사항:
-            1. **핵심 요약**: 문서의 주요 목적이나 결론을 1-2문장으로 작성
-            2. **주요 내용**: 핵심 포인트를 불릿 포인트로 3-5개 나열
-            3. **세부 사항**: 필요시 추가 설명을 1-2문장으로 작성
-            4. **태그**: 문서의 주요 키워드 3-5개 추출
-            
-            응답 형식 (반드시 JSON 형식으로, 줄바꿈은 \\n 사용):
-            {
-                "summary": "핵심 요약 문장.\\n\\n• 주요 내용 1\\n• 주요 내용 2\\n• 주요 내용 3\\n\\n세부 설명 문단.",
-                "tags": ["태그1", "태그2", "태그3"]
-            }
-            
-            예시:
-            {
-                "summary": "본 문서는 2024년 마케팅 전략 수립을 위한 시장 분석 보고서입니다.\\n\\n• 타겟 고객층: 25-35세 직장인\\n• 주요 채널: 인스타그램, 유튜브\\n• 예상 ROI: 150%%\\n• 캠페인 기간: 3개월\\n\\n경쟁사 대비 차별화된 콘텐츠 전략으로 브랜드 인지도 향상을 목표로 합니다.",
-                "tags": ["마케팅전략", "시장분석", "소셜미디어", "ROI"]
-            }
             """, documentTitle, documentText);
 
     }
 
-    /* Claude API 호출 */
-   private String callClaudeApi(String prompt) throws IOException {
-       JsonObject requestBody = new JsonObject();
-       requestBody.addProperty("model", model);
-       requestBody.addProperty("max_tokens", maxTokens);
-       requestBody.addProperty("temperature", temperature);
+    /* 재시도 (일시적 오류만 지수 백오프 + 지터로 재시도, 영구 오류와 서킷 오픈은 바로 실패) */
+    private <T> CompletableFuture<T> withRetry(Supplier<CompletableFuture<T>> call, int attempt) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
 
-       JsonObject userMessage = new JsonObject();
-       userMessage.addProperty("role", "user");
-       userMessage.addProperty("content", prompt);
+        return future.exceptionallyCompose(e -> {
+            Throwable cause = unwrap(e);
 
-       com.google.gson.JsonArray messages = new com.google.gson.JsonArray();
-       messages.add(userMessage);
-       requestBody.add("messages", messages);
+            if (!(cause instanceof ClaudeApiException apiException) || !apiException.isRetryable() || attempt >= retryMaxAttempts) {
+                return CompletableFuture.failedFuture(cause);
+            }
 
-       String requestBodyStr = requestBody.toString();
-       log.info("=== Claude API 요청 시작 ===");
-       log.info("URL: https://api.anthropic.com/v1/messages");
-       log.debug("요청 본문: {}", requestBodyStr);
+            long delayMillis = backoffMillis(attempt, apiException.getRetryAfter());
+            log.warn("Claude API 재시도 예정: attempt={}, delay={}ms, 원인={}", attempt, delayMillis, cause.getMessage());
 
-       RequestBody body = RequestBody.create(
-               requestBody.toString(),
-               MediaType.parse("application/json")
-       );
+            Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> {}, delayed)
+                    .thenCompose(ignored -> withRetry(call, attempt + 1));
+        });
+    }
 
-       Request request = new Request.Builder()
-               .url("https://api.anthropic.com/v1/messages")
-               .addHeader("x-api-key", apiKey)
-               .addHeader("anthropic-version", "2023-06-01")
-               .addHeader("content-type", "application/json")
-               .post(body)
-               .build();
+    // 지수 백오프에 지터 적용 (같이 실패한 요청들이 동시에 재시도하지 않도록), retry-after가 더 길면 따름
+    private long backoffMillis(int attempt, Duration retryAfter) {
+        long exponential = Math.min(retryMaxBackoffMillis, retryInitialBackoffMillis << Math.min(attempt - 1, 20));
+        long jittered = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
 
-       try (Response response = httpClient.newCall(request).execute()) {
+        if (retryAfter != null) {
+            return Math.max(jittered, retryAfter.toMillis());
+        }
+        return jittered;
+    }
 
-           String responseBody = "";
-           if (response.body() != null) {
-               responseBody = response.body().string();
-           }
+    /* Claude API 비동기 호출 (서킷, 호출 한도 허가를 받은 뒤 전송, 응답을 기다리는 동안 스레드를 점유하지 않음) */
+    private CompletableFuture<String> callClaudeApiAsync(String prompt, String model, CallGroup group) {
+        if (group.isCancelled()) {
+            return CompletableFuture.failedFuture(new CancellationException("Claude API 호출 취소"));
+        }
 
-           log.info("=== Claude API 응답 ===");
-           log.info("상태 코드: {}", response.code());
-           log.debug("응답 본문: {}", responseBody);
+        int inputTokens = SUMMARY_SYSTEM_PROMPT_TOKENS + TokenEstimator.estimate(prompt);
+        Request request = buildRequest(prompt, model, modelRouter.outputTokens(inputTokens));
+
+        circuitBreaker.acquire();
+
+        CompletableFuture<ClaudeRateLimiter.Permit> permitFuture = rateLimiter.acquire(inputTokens);
+        group.onCancel(() -> permitFuture.cancel(false));
+
+        return permitFuture
+                .whenComplete((permit, e) -> {
+                    // 허가를 받기 전에 취소되면 전송하지 않으므로 서킷에 결과를 남기지 않음
+                    if (e != null) {
+                        circuitBreaker.abandon();
+                    }
+                })
+                .thenCompose(permit -> send(request, group)
+                        .whenComplete((result, e) -> {
+                            Throwable cause = unwrap(e);
+                            permit.release(cause);
+                            if (cause instanceof CancellationException) {
+                                circuitBreaker.abandon();
+                            } else {
+                                circuitBreaker.record(cause);
+                            }
+                        }));
+    }
 
+    private CompletableFuture<String> send(Request request, CallGroup group) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Call call = httpClient.newCall(request);
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    future.completeExceptionally(new CancellationException("Claude API 호출 취소"));
+                    return;
+                }
+                log.error("Claude API 호출 실패", e);
+                future.completeExceptionally(ClaudeApiException.transport(e));
+            }
 
-           if (!response.isSuccessful()) {
-               log.error("Claude API 오류 발생!");
-               throw new IOException("API 호출 실패: " + response.code() + " - " + responseBody);
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(readContent(response));
+                } catch (ClaudeApiException e) {
+                    future.completeExceptionally(e);
+                } catch (IOException e) {
+                    future.completeExceptionally(ClaudeApiException.transport(e));
+                } catch (Exception e) {
+                    future.completeExceptionally(ClaudeApiException.invalidResponse("잘못된 API 응답 형식", e));
+                }
             }
-            JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
-
-           if (!jsonResponse.has("content")) {
-               log.error("응답에 content 필드가 없습니다: {}", responseBody);
-               throw new IOException("잘못된 API 응답 형식");
-           }
-
-            return jsonResponse
-                    .getAsJsonArray("content")
-                    .get(0)
-                    .getAsJsonObject()
-                    .get("text")
-                    .getAsString();
-       }
-   }
+        });
+
+        // 호출한 쪽에서 취소하면 HTTP 요청도 취소
+        group.onCancel(call::cancel);
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        return future;
+    }
+
+    /* 함께 취소할 호출 묶음 (허가 대기와 진행 중인 OkHttp Call까지 취소, 취소 뒤의 호출/재시도는 바로 실패) */
+    private static final class CallGroup {
+
+        private final List<Runnable> cancellers = new ArrayList<>();
+        private boolean cancelled;
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        // 이미 취소된 묶음이면 바로 실행
+        void onCancel(Runnable canceller) {
+            synchronized (this) {
+                if (!cancelled) {
+                    cancellers.add(canceller);
+                    return;
+                }
+            }
+            canceller.run();
+        }
+
+        void cancel() {
+            List<Runnable> pending;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                pending = new ArrayList<>(cancellers);
+                cancellers.clear();
+            }
+            pending.forEach(Runnable::run);
+        }
+    }
+
+    /* Claude API 요청 생성 */
+    private Request buildRequest(String prompt, String model, int maxTokens) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", model);
+        requestBody.addProperty("max_tokens", maxTokens);
+        requestBody.addProperty("temperature", temperature);
+
+        // 고정 지시문을 앞에 두고 cache_control로 표시해 프롬프트 캐시 (문서 본문은 마지막)
+        JsonObject cacheControl = new JsonObject();
+        cacheControl.addProperty("type", "ephemeral");
+
+        JsonObject systemBlock = new JsonObject();
+        systemBlock.addProperty("type", "text");
+        systemBlock.addProperty("text", SUMMARY_SYSTEM_PROMPT);
+        systemBlock.add("cache_control", cacheControl);
+
+        com.google.gson.JsonArray system = new com.google.gson.JsonArray();
+        system.add(systemBlock);
+        requestBody.add("system", system);
+
+        JsonObject userMessage = new JsonObject();
+        userMessage.addProperty("role", "user");
+        userMessage.addProperty("content", prompt);
+
+        com.google.gson.JsonArray messages = new com.google.gson.JsonArray();
+        messages.add(userMessage);
+        requestBody.add("messages", messages);
+
+        String requestBodyStr = requestBody.toString();
+        log.info("=== Claude API 요청 시작 ===");
+        log.info("URL: https://api.anthropic.com/v1/messages, 모델: {}, max_tokens: {}", model, maxTokens);
+        log.debug("요청 본문: {}", requestBodyStr);
+
+        RequestBody body = RequestBody.create(
+                requestBodyStr,
+                MediaType.parse("application/json")
+        );
+
+        return new Request.Builder()
+                .url("https://api.anthropic.com/v1/messages")
+                .addHeader("x-api-key", apiKey)
+                .addHeader("anthropic-version", "2023-06-01")
+                .addHeader("content-type", "application/json")
+                .post(body)
+                .build();
+    }
+
+    /* Claude API 응답에서 텍스트 추출 */
+    private String readContent(Response response) throws IOException {
+        String responseBody = "";
+        if (response.body() != null) {
+            responseBody = response.body().string();
+        }
+
+        log.info("=== Claude API 응답 ===");
+        log.info("상태 코드: {}", response.code());
+        log.debug("응답 본문: {}", responseBody);
+
+        if (!response.isSuccessful()) {
+            log.error("Claude API 오류 발생!");
+            throw ClaudeApiException.http(response.code(), parseRetryAfter(response.header("retry-after")),
+                    "API 호출 실패: " + response.code() + " - " + responseBody);
+        }
+        JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
+
+        logUsage(jsonResponse);
+
+        if (!jsonResponse.has("content")) {
+            log.error("응답에 content 필드가 없습니다: {}", responseBody);
+            throw ClaudeApiException.invalidResponse("잘못된 API 응답 형식", null);
+        }
+
+        return jsonResponse
+                .getAsJsonArray("content")
+                .get(0)
+                .getAsJsonObject()
+                .get("text")
+                .getAsString();
+    }
+
+    /* 토큰 사용량 로그 (프롬프트 캐시 적중 여부 확인용) */
+    private void logUsage(JsonObject jsonResponse) {
+        if (jsonResponse == null || !jsonResponse.has("usage")) {
+            return;
+        }
+
+        JsonObject usage = jsonResponse.getAsJsonObject("usage");
+        log.info("토큰 사용량 - 입력: {}, 캐시 생성: {}, 캐시 읽기: {}, 출력: {}",
+                usageValue(usage, "input_tokens"),
+                usageValue(usage, "cache_creation_input_tokens"),
+                usageValue(usage, "cache_read_input_tokens"),
+                usageValue(usage, "output_tokens"));
+    }
+
+    private int usageValue(JsonObject usage, String name) {
+        return usage.has(name) && !usage.get(name).isJsonNull() ? usage.get(name).getAsInt() : 0;
+    }
+
+    /* retry-after 헤더 (초 단위) */
+    private Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
 
    /* 응답 파싱 */
-   private SummaryResult parseSummaryResponse(String response)
+   private SummaryResult parseSummaryResponse(String response, String model)
    {
        log.debug("파싱할 응답: {}", response);
 
@@ -161,13 +467,13 @@ public class ClaudeApiService {
            json.getAsJsonArray("tags").forEach(tag -> tags.add(tag.getAsString()));
 
            log.info("파싱 완료 - 요약: {}자, 태그: {}개", summary.length(), tags.size());
-           return new SummaryResult(summary, tags);
+           return new SummaryResult(summary, tags, model);
        } catch (Exception e) {
            log.error("응답 파싱 실패: {}", response, e);
-           throw new RuntimeException("AI 응답 처리에 실패했습니다.", e);
+           throw ClaudeApiException.invalidResponse("AI 응답 처리에 실패했습니다.", e);
        }
    }
 
    /* 요약 결과 DTO */
-   public record SummaryResult(String summary, List<String> tags) {};
+   public record SummaryResult(String summary, List<String> tags, String model) {};
 }
@@ -0,0 +1,100 @@
+package com.dockflow.backend.claude;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * Claude API 서킷 브레이커
+ * 연속 장애가 임계치를 넘으면 일정 시간 호출을 막고, 이후 한 건만 시험 호출해서 성공하면 다시 연다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaudeCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${claude.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${claude.circuit-breaker.open-seconds:60}")
+    private long openSeconds;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("docflow.claude.circuit.state", this, b -> b.getState().ordinal()).register(meterRegistry);
+    }
+
+    /* 호출 가능 여부 (열려 있으면 CircuitOpenException) */
+    public synchronized void acquire() {
+        if (state == State.OPEN) {
+            long remaining = openedAtNanos + Duration.ofSeconds(openSeconds).toNanos() - System.nanoTime();
+            if (remaining > 0) {
+                throw new CircuitOpenException(Duration.ofNanos(remaining));
+            }
+
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            log.info("Claude API 서킷 반개방: 시험 호출 허용");
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new CircuitOpenException(Duration.ofSeconds(openSeconds));
+            }
+            probeInFlight = true;
+        }
+    }
+
+    /* 호출 결과 기록 */
+    public synchronized void record(Throwable error) {
+        boolean failure = error instanceof ClaudeApiException apiException && apiException.isServiceFailure();
+
+        if (!failure) {
+            if (state != State.CLOSED) {
+                log.info("Claude API 서킷 닫힘: 호출 재개");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            return;
+        }
+
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /* 결과 없이 끝난 호출 (보내기 전이나 응답 전에 취소됨), 상태는 그대로 두고 시험 호출 자리만 반납 */
+    public synchronized void abandon() {
+        probeInFlight = false;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        probeInFlight = false;
+        log.warn("Claude API 서킷 열림: 연속 실패 {}회, {}초간 호출 중단", consecutiveFailures, openSeconds);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dockflow.backend.claude;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * 요약 모델 선택 (문서 크기와 우선순위 기준)
+ * 짧은 백그라운드 작업은 빠르고 저렴한 모델로, 긴 문서나 사용자가 기다리는 작업은 큰 모델로 보낸다
+ * 출력 토큰 상한도 입력 크기에 맞춰 잡는다
+ */
+@Slf4j
+@Component
+public class ClaudeModelRouter {
+
+    public enum Priority {
+        INTERACTIVE, // 사용자가 응답을 기다림 (수동 재요약)
+        BACKGROUND   // 업로드 후 요약 작업
+    }
+
+    @Value("${claude.api.model}")
+    private String model;
+
+    // 설정하지 않으면 모든 작업에 기본 모델 사용
+    @Value("${claude.api.fast-model:${claude.api.model}}")
+    private String fastModel;
+
+    @Value("${claude.api.max-tokens}")
+    private int maxOutputTokens;
+
+    // 이 입력 토큰 수 이하의 백그라운드 작업만 빠른 모델로
+    @Value("${claude.routing.fast-max-input-tokens:4000}")
+    private int fastMaxInputTokens;
+
+    @Value("${claude.routing.min-output-tokens:1024}")
+    private int minOutputTokens;
+
+    // 입력 토큰 대비 출력 토큰 상한 비율
+    @Value("${claude.routing.output-ratio:0.25}")
+    private double outputRatio;
+
+    /* 요약 모델 선택 */
+    public String route(int inputTokens, Priority priority) {
+        String routed = priority == Priority.BACKGROUND && inputTokens <= fastMaxInputTokens ? fastModel : model;
+        log.info("요약 모델 선택: {}토큰, {} → {}", inputTokens, priority, routed);
+        return routed;
+    }
+
+    /* 기본 모델 */
+    public String defaultModel() {
+        return model;
+    }
+
+    /* 출력 토큰 상한 (입력 크기 비례, 최소값과 설정 상한 사이) */
+    public int outputTokens(int inputTokens) {
+        int budget = (int) Math.ceil(inputTokens * outputRatio);
+        return Math.min(maxOutputTokens, Math.max(minOutputTokens, budget));
+    }
+}
@@ -0,0 +1,224 @@
+package com.dockflow.backend.claude;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Claude API 호출 제한
+ * - 분당 요청 수 / 분당 입력 토큰 수 토큰 버킷
+ * - AIMD 동시성 제어: 성공하면 한도를 조금씩 늘리고, 429/529를 받으면 절반으로 줄이고 retry-after 동안 대기
+ * 대기는 스레드를 막지 않고 future로 처리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaudeRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${claude.rate-limit.requests-per-minute:50}")
+    private long requestsPerMinute;
+
+    @Value("${claude.rate-limit.input-tokens-per-minute:40000}")
+    private long inputTokensPerMinute;
+
+    @Value("${claude.rate-limit.concurrency.initial:4}")
+    private double initialConcurrency;
+
+    @Value("${claude.rate-limit.concurrency.min:1}")
+    private double minConcurrency;
+
+    @Value("${claude.rate-limit.concurrency.max:${claude.http.max-concurrency:${async.ai.max-pool-size:8}}}")
+    private double maxConcurrency;
+
+    @Value("${claude.rate-limit.default-retry-after-seconds:10}")
+    private long defaultRetryAfterSeconds;
+
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    private ScheduledExecutorService scheduler;
+    private TokenBucket requestBucket;
+    private TokenBucket tokenBucket;
+    private Counter throttledCounter;
+
+    private double concurrencyLimit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claude-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        requestBucket = new TokenBucket(requestsPerMinute);
+        tokenBucket = new TokenBucket(inputTokensPerMinute);
+        concurrencyLimit = initialConcurrency;
+        pausedUntilNanos = System.nanoTime();
+        lastDecreaseNanos = pausedUntilNanos - TimeUnit.HOURS.toNanos(1);
+
+        throttledCounter = Counter.builder("docflow.claude.throttled").register(meterRegistry);
+        Gauge.builder("docflow.claude.concurrency.limit", this, l -> l.snapshot().concurrencyLimit()).register(meterRegistry);
+        Gauge.builder("docflow.claude.in-flight", this, l -> l.snapshot().inFlight()).register(meterRegistry);
+        Gauge.builder("docflow.claude.waiting", this, l -> l.snapshot().waiting()).register(meterRegistry);
+        Gauge.builder("docflow.claude.requests.available", this, l -> l.snapshot().requestsAvailable()).register(meterRegistry);
+        Gauge.builder("docflow.claude.input-tokens.available", this, l -> l.snapshot().inputTokensAvailable()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /* 호출 허가 요청 (한도 내에 들어오면 future 완료) */
+    public CompletableFuture<Permit> acquire(int estimatedInputTokens) {
+        Waiter waiter = new Waiter(estimatedInputTokens, new CompletableFuture<>());
+
+        synchronized (this) {
+            waiters.add(waiter);
+        }
+
+        drain();
+        return waiter.future();
+    }
+
+    /* 대기열 앞에서부터 한도 내에 들어오는 요청 허가 */
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        long waitNanos = 0;
+
+        synchronized (this) {
+            while (!waiters.isEmpty()) {
+                Waiter waiter = waiters.peek();
+                if (waiter.future().isDone()) {
+                    waiters.poll();
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                if (pausedUntilNanos - now > 0) {
+                    waitNanos = pausedUntilNanos - now;
+                    break;
+                }
+
+                // 동시성 한도에 걸리면 permit 반납시 다시 drain
+                if (inFlight >= (int) concurrencyLimit) {
+                    break;
+                }
+
+                waitNanos = Math.max(requestBucket.nanosUntilAvailable(1), tokenBucket.nanosUntilAvailable(waiter.tokens()));
+                if (waitNanos > 0) {
+                    break;
+                }
+
+                requestBucket.consume(1);
+                tokenBucket.consume(waiter.tokens());
+                inFlight++;
+                ready.add(waiters.poll());
+            }
+        }
+
+        if (waitNanos > 0) {
+            scheduleDrain(waitNanos);
+        }
+
+        // 락 밖에서 완료 (후속 작업이 락을 잡은 채 실행되지 않도록)
+        for (Waiter waiter : ready) {
+            if (!waiter.future().complete(new Permit())) {
+                abandon();
+            }
+        }
+    }
+
+    private void scheduleDrain(long waitNanos) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                drainScheduled.set(false);
+                drain();
+            }, waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /* 호출 결과 반영 (성공: 한도 증가, 429/529: 한도 감소 + 일시 정지) */
+    private void release(Throwable error) {
+        synchronized (this) {
+            inFlight--;
+
+            if (error == null) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            } else if (error instanceof ClaudeApiException apiException && apiException.isOverloaded()) {
+                onOverloaded(apiException);
+            }
+        }
+
+        drain();
+    }
+
+    /* 허가 직전에 취소된 요청의 자리 반납 (한도는 조정하지 않음) */
+    private void abandon() {
+        synchronized (this) {
+            inFlight--;
+        }
+
+        drain();
+    }
+
+    private void onOverloaded(ClaudeApiException e) {
+        throttledCounter.increment();
+
+        long now = System.nanoTime();
+        Duration retryAfter = e.getRetryAfter() != null ? e.getRetryAfter() : Duration.ofSeconds(defaultRetryAfterSeconds);
+        pausedUntilNanos = Math.max(pausedUntilNanos - now, retryAfter.toNanos()) + now;
+
+        // 같은 시점에 보낸 요청들이 한꺼번에 429를 받아도 한 번만 줄임
+        if (now - lastDecreaseNanos > retryAfter.toNanos()) {
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+            lastDecreaseNanos = now;
+        }
+
+        log.warn("Claude API 한도 초과 (status={}): 동시성 한도 {}로 조정, {}초 대기",
+                e.getStatusCode(), String.format("%.1f", concurrencyLimit), retryAfter.toSeconds());
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(concurrencyLimit, inFlight, waiters.size(), requestBucket.available(), tokenBucket.available());
+    }
+
+    /* 호출 허가 (호출이 끝나면 결과와 함께 반드시 반납) */
+    public class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        public void release(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                ClaudeRateLimiter.this.release(error);
+            }
+        }
+    }
+
+    private record Waiter(int tokens, CompletableFuture<Permit> future) {}
+
+    record Snapshot(double concurrencyLimit, int inFlight, int waiting, double requestsAvailable, double inputTokensAvailable) {}
+}
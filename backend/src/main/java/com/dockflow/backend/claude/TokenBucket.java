@@ -0,0 +1,43 @@
+package com.dockflow.backend.claude;
+
+/* 분당 한도 토큰 버킷 (동기화는 호출하는 쪽에서 처리) */
+class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(long perMinute) {
+        this.capacity = perMinute;
+        this.refillPerNano = perMinute / 60_000_000_000.0;
+        this.tokens = perMinute;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    // 요청량이 버킷 크기보다 크면 버킷이 가득 찼을 때 허용 (영원히 대기하지 않도록)
+    long nanosUntilAvailable(double amount) {
+        refill();
+        double needed = Math.min(amount, capacity) - tokens;
+        if (needed <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(needed / refillPerNano);
+    }
+
+    void consume(double amount) {
+        refill();
+        tokens -= Math.min(amount, capacity);
+    }
+
+    double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
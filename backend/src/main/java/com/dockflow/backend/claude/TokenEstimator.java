@@ -0,0 +1,35 @@
+package com.dockflow.backend.claude;
+
+/* 입력 토큰 수 추정 (한글/CJK는 글자당 약 1토큰, 그 외는 4글자당 약 1토큰) */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        int wideChars = 0;
+        int otherChars = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isWide(c)) {
+                wideChars++;
+            } else {
+                otherChars++;
+            }
+        }
+
+        return wideChars + (otherChars + 3) / 4;
+    }
+
+    public static boolean isWide(char c) {
+        return (c >= '\uAC00' && c <= '\uD7A3')     // 한글 음절
+                || (c >= '\u3130' && c <= '\u318F')  // 한글 자모
+                || (c >= '\u4E00' && c <= '\u9FFF')  // CJK 한자
+                || (c >= '\u3040' && c <= '\u30FF'); // 일본어 가나
+    }
+}
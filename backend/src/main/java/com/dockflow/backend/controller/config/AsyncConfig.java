@@ -1,9 +1,123 @@
 package com.dockflow.backend.controller.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    public static final String EXTRACTION_EXECUTOR = "extractionExecutor";
+    public static final String AI_EXECUTOR = "aiExecutor";
+    public static final String COMPLETION_EXECUTOR = "completionExecutor";
+    public static final String PDF_EXTRACTION_POOL = "pdfExtractionPool";
+
+    /* 텍스트 추출용 스레드 풀 (CPU 작업, 기본값은 코어 수) */
+    @Bean(name = EXTRACTION_EXECUTOR)
+    public ThreadPoolTaskExecutor extractionExecutor(
+            @Value("${async.extraction.pool-size:0}") int poolSize,
+            @Value("${async.extraction.queue-capacity:50}") int queueCapacity,
+            @Value("${async.extraction.rejection-policy:caller-runs}") String rejectionPolicy,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return createExecutor("extraction", threads, threads, queueCapacity, rejectionPolicy, meterRegistry);
+    }
+
+    /* 대용량 PDF 페이지 구간 병렬 추출용 ForkJoin 풀 (기본값은 코어 수) */
+    @Bean(name = PDF_EXTRACTION_POOL, destroyMethod = "shutdown")
+    public ForkJoinPool pdfExtractionPool(
+            @Value("${async.extraction.pdf-parallelism:0}") int parallelism,
+            MeterRegistry meterRegistry
+    ) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        Gauge.builder("docflow.executor.queue.depth", pool, ForkJoinPool::getQueuedSubmissionCount)
+                .tag("name", "pdf")
+                .register(meterRegistry);
+        Gauge.builder("docflow.executor.active", pool, ForkJoinPool::getActiveThreadCount)
+                .tag("name", "pdf")
+                .register(meterRegistry);
+
+        return pool;
+    }
+
+    /* Claude API 호출용 스레드 풀 (I/O 대기 작업) */
+    @Bean(name = AI_EXECUTOR)
+    public ThreadPoolTaskExecutor aiExecutor(
+            @Value("${async.ai.core-pool-size:4}") int corePoolSize,
+            @Value("${async.ai.max-pool-size:8}") int maxPoolSize,
+            @Value("${async.ai.queue-capacity:20}") int queueCapacity,
+            @Value("${async.ai.rejection-policy:abort}") String rejectionPolicy,
+            MeterRegistry meterRegistry
+    ) {
+        return createExecutor("ai", corePoolSize, maxPoolSize, queueCapacity, rejectionPolicy, meterRegistry);
+    }
+
+    /* Claude 응답 이후 캐시/요약 저장용 스레드 풀 (짧은 DB 작업, 응답을 버리지 않도록 포화되면 호출한 스레드가 실행) */
+    @Bean(name = COMPLETION_EXECUTOR)
+    public ThreadPoolTaskExecutor completionExecutor(
+            @Value("${async.completion.pool-size:4}") int poolSize,
+            @Value("${async.completion.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return createExecutor("completion", poolSize, poolSize, queueCapacity, "caller-runs", meterRegistry);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(
+            String name, int corePoolSize, int maxPoolSize, int queueCapacity,
+            String rejectionPolicy, MeterRegistry meterRegistry
+    ) {
+        Counter rejected = Counter.builder("docflow.executor.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingHandler(rejectionHandler(rejectionPolicy), rejected));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("docflow.executor.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("docflow.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("docflow.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    // caller-runs: 호출한 스레드가 직접 실행 (자연스러운 백프레셔), abort: 거절 후 호출자가 처리
+    private RejectedExecutionHandler rejectionHandler(String policy) {
+        return switch (policy) {
+            case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+            default -> throw new IllegalArgumentException("지원하지 않는 거절 정책입니다. : " + policy);
+        };
+    }
+
+    private RejectedExecutionHandler countingHandler(RejectedExecutionHandler delegate, Counter rejected) {
+        return (task, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
 }
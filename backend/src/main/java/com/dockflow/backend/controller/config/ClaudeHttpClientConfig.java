@@ -0,0 +1,43 @@
+package com.dockflow.backend.controller.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ClaudeHttpClientConfig {
+
+    /* Claude API 전용 HTTP 클라이언트 (커넥션 풀과 동시 요청 수를 AI 동시성에 맞춤) */
+    @Bean
+    public OkHttpClient claudeHttpClient(
+            @Value("${claude.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${claude.http.read-timeout-ms:90000}") long readTimeoutMs,
+            @Value("${claude.http.write-timeout-ms:30000}") long writeTimeoutMs,
+            @Value("${claude.http.call-timeout-ms:120000}") long callTimeoutMs,
+            @Value("${claude.http.max-concurrency:${async.ai.max-pool-size:8}}") int maxConcurrency,
+            @Value("${claude.http.keep-alive-minutes:5}") long keepAliveMinutes
+    ) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrency);
+        dispatcher.setMaxRequestsPerHost(maxConcurrency);
+
+        return new OkHttpClient.Builder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .writeTimeout(Duration.ofMillis(writeTimeoutMs))
+                .callTimeout(Duration.ofMillis(callTimeoutMs))
+                .connectionPool(new ConnectionPool(maxConcurrency, keepAliveMinutes, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                // HTTP/2 협상되면 하나의 커넥션으로 여러 요청을 멀티플렉싱
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.dockflow.backend.controller.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+@Configuration
+public class MultipartConfig {
+
+    /*
+     * multipart 본문은 MultipartFile 파라미터를 처음 쓸 때 파싱 (DispatcherServlet이 미리 임시 파일로 받아두지 않음)
+     * 스트리밍 업로드는 요청 스트림을 직접 읽어 최종 저장 위치에 바로 쓴다
+     * 빈 이름이 multipartResolver여야 DispatcherServlet이 사용함
+     */
+    @Bean
+    public StandardServletMultipartResolver multipartResolver() {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver();
+        resolver.setResolveLazily(true);
+        return resolver;
+    }
+}
@@ -4,9 +4,14 @@ import com.dockflow.backend.dto.document.*;
 import com.dockflow.backend.dto.document.comment.DocumentCommentDTO;
 import com.dockflow.backend.entity.document.Document;
 import com.dockflow.backend.response.ApiResponse;
+import com.dockflow.backend.service.document.ChunkedUploadService;
 import com.dockflow.backend.service.document.DocumentService;
 import com.dockflow.backend.service.document.DocumentSummaryService;
 import com.dockflow.backend.service.document.comment.DocumentCommentService;
+import com.dockflow.backend.service.file.DownloadFile;
+import com.dockflow.backend.service.file.FileDownloadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -40,6 +46,8 @@ public class DocumentController {
     private final DocumentService documentService;
     private final DocumentSummaryService documentSummaryService;
     private final DocumentCommentService documentCommentService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final FileDownloadService fileDownloadService;
 
 
     /* 문서 업로드 페이지 */
@@ -73,6 +81,120 @@ public class DocumentController {
         }
     }
 
+    /* 문서 스트리밍 업로드 (multipart 본문을 임시 파일 없이 바로 저장, CSRF 토큰은 헤더로 전달) */
+    @PostMapping("/upload/stream")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<DocumentResponse>> uploadDocumentStream(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            DocumentResponse response = documentService.uploadDocumentStream(
+                    request.getInputStream(), request.getContentType(), request.getContentLengthLong(), userDetails.getUsername());
+            return ResponseEntity.ok(ApiResponse.success("문서가 업로드되었습니다.", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("스트리밍 업로드 실패", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("문서 업로드에 실패했습니다."));
+        }
+    }
+
+    /* 분할 업로드 시작 */
+    @PostMapping("/upload/chunked")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> initiateChunkedUpload(
+            @Valid @RequestBody ChunkedUploadInitRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(chunkedUploadService.initiate(request, userDetails.getUsername())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("분할 업로드 시작 실패", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("분할 업로드를 시작하지 못했습니다."));
+        }
+    }
+
+    /* 분할 업로드 상태 (받은 청크/빠진 청크) */
+    @GetMapping("/upload/chunked/{uploadId}")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getChunkedUploadStatus(
+            @PathVariable("uploadId") String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(chunkedUploadService.getStatus(uploadId, userDetails.getUsername())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /* 청크 업로드 (본문은 청크 바이트 그대로, 순서 무관/병렬 가능) */
+    @PutMapping("/upload/chunked/{uploadId}/chunks/{index}")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+            @PathVariable("uploadId") String uploadId,
+            @PathVariable("index") int index,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            UploadSessionResponse response = chunkedUploadService.uploadChunk(
+                    uploadId, index, request.getInputStream(), request.getContentLengthLong(), userDetails.getUsername());
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("청크 업로드 실패: uploadId={}, index={}", uploadId, index, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("청크 업로드에 실패했습니다. 같은 청크를 다시 보내주세요."));
+        }
+    }
+
+    /* 분할 업로드 완료 (문서 등록 및 요약 작업 등록) */
+    @PostMapping("/upload/chunked/{uploadId}/complete")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> completeChunkedUpload(
+            @PathVariable("uploadId") String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            UploadSessionResponse response = chunkedUploadService.complete(uploadId, userDetails.getUsername());
+            return ResponseEntity.ok(ApiResponse.success("문서가 업로드되었습니다.", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("분할 업로드 완료 실패: uploadId={}", uploadId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("업로드를 완료하지 못했습니다."));
+        }
+    }
+
+    /* 분할 업로드 취소 */
+    @DeleteMapping("/upload/chunked/{uploadId}")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Void>> cancelChunkedUpload(
+            @PathVariable("uploadId") String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            chunkedUploadService.cancel(uploadId, userDetails.getUsername());
+            return ResponseEntity.ok(ApiResponse.success("업로드가 취소되었습니다.", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /* 팀별 문서 목록 */
     @GetMapping("/list")
     public String documentList(
@@ -148,6 +270,31 @@ public class DocumentController {
         return "document/detail";
     }
 
+    /* 문서 파일 다운로드 (Range 요청으로 부분 전송, ETag로 재검증) */
+    @GetMapping("/{documentNo}/file")
+    public void downloadFile(
+            @PathVariable("documentNo") Long documentNo,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        DownloadFile file;
+        try {
+            file = documentService.getDocumentFile(documentNo, userDetails.getUsername());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        try {
+            fileDownloadService.send(file, request, response);
+        } catch (IOException e) {
+            // PDF 뷰어가 범위를 바꾸며 연결을 끊는 경우가 많음
+            log.debug("파일 전송 중단: documentNo={}", documentNo, e);
+        }
+    }
+
     /* 문서 수정 */
     @PostMapping("/{documentNo}/update")
     @ResponseBody
@@ -0,0 +1,36 @@
+package com.dockflow.backend.dto.document;
+
+import com.dockflow.backend.entity.document.Document;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadInitRequest {
+
+    @NotBlank(message = "제목은 필수입니다.")
+    @Size(max = 200, message = "제목은 200자를 초과할 수 없습니다.")
+    private String title;
+
+    @NotNull(message = "팀을 선택해주세요.")
+    private Long teamNo;
+
+    @NotNull(message = "카테고리를 선택해주세요.")
+    private Document.DocumentCategory category;
+
+    @NotBlank(message = "파일명이 올바르지 않습니다.")
+    @Size(max = 255, message = "파일명은 255자를 초과할 수 없습니다.")
+    private String fileName;
+
+    @NotNull(message = "파일 크기가 올바르지 않습니다.")
+    @Positive(message = "파일 크기가 올바르지 않습니다.")
+    private Long fileSize;
+}
@@ -30,6 +30,7 @@ public class DocumentDetailDTO {
     private String aiModelVersion;
     private LocalDateTime summaryCreatedAt;
     private Integer summaryCount;
+    private Boolean provisionalSummary;
 
     private List<String> tags;
 
@@ -0,0 +1,39 @@
+package com.dockflow.backend.dto.document;
+
+import com.dockflow.backend.entity.document.UploadSession;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class UploadSessionResponse {
+
+    private String uploadId;
+    private String originalFileName;
+    private Long fileSize;
+    private Integer chunkSize;
+    private Integer chunkCount;
+    private Integer receivedCount;
+    private List<Integer> missingChunks;
+    private UploadSession.UploadStatus status;
+    private Long documentNo;
+    private LocalDateTime expiresAt;
+
+    public static UploadSessionResponse from(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getUploadId())
+                .originalFileName(session.getOriginalFileName())
+                .fileSize(session.getFileSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedCount(session.getReceivedCount())
+                .missingChunks(session.getMissingChunks())
+                .status(session.getStatus())
+                .documentNo(session.getDocument() != null ? session.getDocument().getDocumentNo() : null)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "DOCUMENT")
+@Table(name = "DOCUMENT", indexes = @Index(name = "idx_document_content_hash", columnList = "content_hash"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +37,10 @@ public class Document {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
+    // 파일 내용 SHA-256 (내용 주소 저장소 키, 같은 내용의 추출 텍스트 재사용에도 사용)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "upload_user_no", nullable = false)
     private Member uploadUser;
@@ -62,6 +66,10 @@ public class Document {
     @Builder.Default
     private Boolean isActive = true;
 
+    // 삭제(비활성화) 시각 (보존 기간이 지나면 파일 참조 해제)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -114,6 +122,18 @@ public class Document {
 
     public void deactivate() {
         this.isActive = false;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // 보존 기간이 지나 저장소 참조를 해제한 뒤 (다시 해제하지 않도록 해시 제거)
+    public void purgeFile() {
+        this.contentHash = null;
+    }
+
+    // 기존 팀 디렉토리 파일을 내용 주소 저장소로 옮긴 뒤 경로 변경
+    public void moveToBlob(String filePath, String contentHash) {
+        this.filePath = filePath;
+        this.contentHash = contentHash;
     }
 
 }
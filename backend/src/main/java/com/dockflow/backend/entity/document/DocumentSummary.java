@@ -37,6 +37,11 @@ public class DocumentSummary {
     @Column(name = "list_summarized_at")
     private LocalDateTime lastSummarizedAt;
 
+    // 로컬 추출 요약 여부 (AI 요약이 나오면 교체됨)
+    @Column(name = "is_provisional", nullable = false)
+    @Builder.Default
+    private Boolean isProvisional = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -62,6 +67,14 @@ public class DocumentSummary {
         return true;
     }
 
+    // 임시 요약을 AI 요약으로 교체 (요약 횟수는 늘리지 않음)
+    public void overwrite(String summaryText, String aiModelVersion) {
+        this.summaryText = summaryText;
+        this.aiModelVersion = aiModelVersion;
+        this.isProvisional = false;
+        this.lastSummarizedAt = LocalDateTime.now();
+    }
+
     // 재요약 실행
     public void updateSummary(String summaryText, String aiModelVersion) {
         this.summaryText = summaryText;
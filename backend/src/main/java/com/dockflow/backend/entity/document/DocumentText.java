@@ -0,0 +1,57 @@
+package com.dockflow.backend.entity.document;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "DOCUMENT_TEXT")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class DocumentText {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "text_no")
+    private Long textNo;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_no", nullable = false, unique = true)
+    private Document document;
+
+    // 정규화된 추출 텍스트 (UTF-8, GZIP 압축)
+    @Lob
+    @Column(name = "compressed_text", columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] compressedText;
+
+    // 압축 전 UTF-8 바이트의 SHA-256
+    @Column(name = "checksum", length = 64, nullable = false)
+    private String checksum;
+
+    @Column(name = "char_length", nullable = false)
+    private Integer charLength;
+
+    // 문서 전체를 추출한 텍스트인지 (요약 입력 상한만큼만 잘라 저장하던 이전 행은 null → 다시 추출)
+    @Column(name = "is_complete")
+    private Boolean isComplete;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void updateText(byte[] compressedText, String checksum, int charLength) {
+        this.compressedText = compressedText;
+        this.checksum = checksum;
+        this.charLength = charLength;
+        this.isComplete = true;
+    }
+}
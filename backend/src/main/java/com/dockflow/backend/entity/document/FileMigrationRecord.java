@@ -0,0 +1,73 @@
+package com.dockflow.backend.entity.document;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+ * 파일 저장소 이전 기록
+ * PENDING_DELETE = 새 경로로 옮긴 뒤 남은 기존 파일 (이미 경로를 읽어 간 작업이 끝나도록 deleteAfter 이후 삭제)
+ * SKIPPED = 옮길 수 없는 기존 파일 (원본 없음, 지원하지 않는 형식 등), 다시 확인하지 않음
+ */
+@Entity
+@Table(name = "FILE_MIGRATION_RECORD", indexes = @Index(name = "idx_file_migration_status_delete_after", columnList = "status, delete_after"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class FileMigrationRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "record_no")
+    private Long recordNo;
+
+    // 팀 디렉토리 파일 이전이면 해당 문서, 저장소 재배치면 null
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_no")
+    private Document document;
+
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private MigrationStatus status;
+
+    @Column(name = "reason", length = 1000)
+    private String reason;
+
+    @Column(name = "delete_after")
+    private LocalDateTime deleteAfter;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum MigrationStatus {
+        PENDING_DELETE("삭제 대기"),
+        DELETED("삭제 완료"),
+        SKIPPED("이전 제외");
+
+        private final String description;
+
+        MigrationStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public void markDeleted() {
+        this.status = MigrationStatus.DELETED;
+    }
+}
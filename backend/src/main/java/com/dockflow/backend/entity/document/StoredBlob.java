@@ -0,0 +1,58 @@
+package com.dockflow.backend.entity.document;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+ * 내용 주소 저장소의 파일 (SHA-256 기준 한 번만 저장)
+ * refCount = 이 파일을 가리키는 활성 문서 수, 0이 되면 파일과 함께 삭제
+ */
+@Entity
+@Table(name = "STORED_BLOB")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StoredBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "blob_no")
+    private Long blobNo;
+
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 0;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 참조 해제 후 남은 참조 수
+    public int release() {
+        this.refCount = Math.max(0, this.refCount - 1);
+        return this.refCount;
+    }
+
+    // 디렉토리 분산 설정이 바뀌어 새 경로로 옮긴 경우
+    public void relocate(String filePath) {
+        this.filePath = filePath;
+    }
+}
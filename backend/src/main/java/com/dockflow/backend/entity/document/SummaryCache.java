@@ -0,0 +1,46 @@
+package com.dockflow.backend.entity.document;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "SUMMARY_CACHE")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SummaryCache {
+
+    // SHA-256(정규화된 본문 + 모델 + 프롬프트 버전)
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "summary_text", columnDefinition = "TEXT", nullable = false)
+    private String summaryText;
+
+    // JSON 배열
+    @Column(name = "tags", columnDefinition = "TEXT", nullable = false)
+    private String tags;
+
+    @Column(name = "ai_model_version", length = 50)
+    private String aiModelVersion;
+
+    @Column(name = "prompt_version", length = 20)
+    private String promptVersion;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 재요약으로 같은 키의 결과를 갱신
+    public void update(String summaryText, String tags, String aiModelVersion, String promptVersion) {
+        this.summaryText = summaryText;
+        this.tags = tags;
+        this.aiModelVersion = aiModelVersion;
+        this.promptVersion = promptVersion;
+    }
+}
@@ -0,0 +1,134 @@
+package com.dockflow.backend.entity.document;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "SUMMARY_JOB", indexes = @Index(name = "idx_summary_job_status_next_run", columnList = "status, next_run_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SummaryJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_no")
+    private Long jobNo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_no", nullable = false)
+    private Document document;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        PENDING("대기"),
+        RUNNING("실행중"),
+        COMPLETED("완료"),
+        FAILED("실패");
+
+        private final String description;
+
+        JobStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // 워커가 작업 점유 (리스 시간 동안 다른 워커는 가져갈 수 없음)
+    public void start(String workerId, LocalDateTime leaseUntil) {
+        this.status = JobStatus.RUNNING;
+        this.lockedBy = workerId;
+        this.leaseUntil = leaseUntil;
+        this.attempts++;
+    }
+
+    // 아직 이 점유의 리스가 유효한지 (시도 횟수는 점유할 때마다 늘어서 같은 워커의 이전 점유와도 구분됨)
+    public boolean isLeasedBy(String workerId, int attempts) {
+        return this.status == JobStatus.RUNNING && workerId.equals(this.lockedBy) && this.attempts == attempts;
+    }
+
+    // 실행 중 리스 연장 (긴 구간별 요약, 호출 한도 대기 등으로 리스 시간을 넘기지 않도록)
+    public void extendLease(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public void complete() {
+        this.status = JobStatus.COMPLETED;
+        this.lockedBy = null;
+        this.leaseUntil = null;
+        this.lastError = null;
+    }
+
+    // 재시도 예약
+    public void retryAt(LocalDateTime nextRunAt, String error) {
+        this.status = JobStatus.PENDING;
+        this.lockedBy = null;
+        this.leaseUntil = null;
+        this.nextRunAt = nextRunAt;
+        this.lastError = truncateError(error);
+    }
+
+    // 실행하지 못한 작업 반납 (시도 횟수 차감)
+    public void release() {
+        this.status = JobStatus.PENDING;
+        this.lockedBy = null;
+        this.leaseUntil = null;
+        this.attempts = Math.max(0, this.attempts - 1);
+    }
+
+    // 시도 횟수를 쓰지 않고 연기 (외부 장애 등 작업 자체의 문제가 아닐 때)
+    public void postpone(LocalDateTime nextRunAt, String error) {
+        retryAt(nextRunAt, error);
+        this.attempts = Math.max(0, this.attempts - 1);
+    }
+
+    public void fail(String error) {
+        this.status = JobStatus.FAILED;
+        this.lockedBy = null;
+        this.leaseUntil = null;
+        this.lastError = truncateError(error);
+    }
+
+    private static String truncateError(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
@@ -0,0 +1,185 @@
+package com.dockflow.backend.entity.document;
+
+import com.dockflow.backend.entity.member.Member;
+import com.dockflow.backend.entity.team.Team;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 분할 업로드 세션
+ * 파일을 고정 크기 청크로 나눠 받고, 받은 청크는 비트맵으로 기록 (중단되면 빠진 청크만 다시 보냄)
+ */
+@Entity
+@Table(name = "UPLOAD_SESSION", indexes = @Index(name = "idx_upload_session_status_expires", columnList = "status, expires_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "upload_session_no")
+    private Long uploadSessionNo;
+
+    @Column(name = "upload_id", nullable = false, unique = true, length = 36)
+    private String uploadId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_no", nullable = false)
+    private Member member;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_no", nullable = false)
+    private Team team;
+
+    @Column(name = "title", nullable = false, length = 200)
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false, length = 20)
+    private Document.DocumentCategory category;
+
+    @Column(name = "original_filename", nullable = false, length = 255)
+    private String originalFileName;
+
+    // 청크를 받는 동안 쓰는 파일 (완료되면 .part를 뗀 이름으로 바뀜)
+    @Column(name = "part_file_path", nullable = false, length = 500)
+    private String partFilePath;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    // 받은 청크 비트맵 (청크 i → i번째 비트)
+    @Column(name = "received_chunks", nullable = false, length = 2048)
+    private byte[] receivedChunks;
+
+    @Column(name = "received_count", nullable = false)
+    @Builder.Default
+    private Integer receivedCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private UploadStatus status = UploadStatus.UPLOADING;
+
+    // 파일에 기록 중인 청크 수 (완료 처리는 기록이 모두 끝난 뒤에만 시작)
+    @Column(name = "active_writes", nullable = false)
+    @Builder.Default
+    private Integer activeWrites = 0;
+
+    // 마지막 청크 기록 시작 시각 (기록 중 서버가 내려가 기록 수가 남은 경우 판단용)
+    @Column(name = "write_started_at")
+    private LocalDateTime writeStartedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_no")
+    private Document document;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum UploadStatus {
+        UPLOADING("업로드중"),
+        COMPLETING("완료 처리중"),
+        COMPLETED("완료");
+
+        private final String description;
+
+        UploadStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // 청크 시작 위치
+    public long offsetOf(int index) {
+        return (long) index * chunkSize;
+    }
+
+    // 청크 길이 (마지막 청크만 짧을 수 있음)
+    public long lengthOf(int index) {
+        return Math.min(chunkSize, fileSize - offsetOf(index));
+    }
+
+    public boolean isReceived(int index) {
+        return (receivedChunks[index / 8] & (1 << (index % 8))) != 0;
+    }
+
+    // 청크 수신 기록 (같은 청크를 다시 받으면 덮어쓴 것으로 보고 개수는 그대로), 받을 때마다 만료 시간 연장
+    public void markReceived(int index, LocalDateTime expiresAt) {
+        if (!isReceived(index)) {
+            receivedChunks[index / 8] |= (byte) (1 << (index % 8));
+            receivedCount++;
+        }
+        this.expiresAt = expiresAt;
+    }
+
+    // 청크 기록 시작 (기록하는 동안 완료 처리가 시작되지 않도록)
+    public void beginWrite(LocalDateTime now) {
+        this.activeWrites++;
+        this.writeStartedAt = now;
+    }
+
+    public void endWrite() {
+        this.activeWrites = Math.max(0, activeWrites - 1);
+    }
+
+    // staleBefore 이전에 시작한 기록은 중단된 것으로 봄
+    public boolean hasActiveWrites(LocalDateTime staleBefore) {
+        return activeWrites > 0 && writeStartedAt != null && writeStartedAt.isAfter(staleBefore);
+    }
+
+    // 완료 처리 시작 (이후 들어오는 청크는 거부)
+    public void startCompleting() {
+        this.status = UploadStatus.COMPLETING;
+    }
+
+    // 파일 확정이 일시적인 오류로 실패하면 다시 완료할 수 있도록 되돌림
+    public void cancelCompleting() {
+        this.status = UploadStatus.UPLOADING;
+    }
+
+    public boolean isAllReceived() {
+        return receivedCount.equals(chunkCount);
+    }
+
+    public List<Integer> getMissingChunks() {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            if (!isReceived(i)) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    public void complete(Document document, String filePath) {
+        this.status = UploadStatus.COMPLETED;
+        this.document = document;
+        this.partFilePath = filePath;
+    }
+}
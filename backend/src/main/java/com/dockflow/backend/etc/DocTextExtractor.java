@@ -0,0 +1,34 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+
+/* DOC 텍스트 추출 (파일을 스트림으로 통째 복사하지 않고 POIFS가 파일에서 직접 읽음) */
+@Component
+public class DocTextExtractor implements TextExtractor {
+
+    @Override
+    public FileType getFileType() {
+        return FileType.DOC;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true);
+             HWPFDocument document = new HWPFDocument(fs.getRoot());
+             WordExtractor extractor = new WordExtractor(document)) {
+
+            for (String paragraph : extractor.getParagraphText()) {
+                if (!budget.append(paragraph)) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/* DOCX 텍스트 추출 (XWPFDocument DOM 대신 word/document.xml을 SAX로 읽음) */
+@Component
+public class DocxTextExtractor implements TextExtractor {
+
+    @Override
+    public FileType getFileType() {
+        return FileType.DOCX;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        OPCPackage pkg = OoxmlTextHandler.open(file);
+
+        try {
+            List<PackagePart> documentParts = pkg.getPartsByRelationshipType(PackageRelationshipTypes.CORE_DOCUMENT);
+            if (documentParts.isEmpty()) {
+                throw new IOException("DOCX 본문이 없습니다. : " + file.getName());
+            }
+
+            try (InputStream in = documentParts.get(0).getInputStream()) {
+                OoxmlTextHandler.parse(in, budget, OoxmlTextHandler.WORD_NS);
+            }
+        } finally {
+            // 읽기 전용으로 열었으므로 저장 없이 닫음
+            pkg.revert();
+        }
+    }
+}
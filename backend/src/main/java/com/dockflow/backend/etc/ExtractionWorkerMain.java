@@ -0,0 +1,80 @@
+package com.dockflow.backend.etc;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * 텍스트 추출 자식 JVM 진입점 (ExtractionWorkerPool이 실행)
+ * stdin으로 요청을 받아 추출하고 stdout으로 결과를 돌려준다. Spring 컨텍스트 없이 FileTextExtractor만 사용
+ *
+ * 요청: UTF(파일 경로) + int(최대 글자 수)
+ * 응답: byte(상태) + 성공이면 int(바이트 수) + UTF-8 본문, 실패면 UTF(메시지)
+ */
+public final class ExtractionWorkerMain {
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_IO_ERROR = 1;
+    static final byte STATUS_UNSUPPORTED = 2;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private ExtractionWorkerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // stdout은 프로토콜 전용, 로그는 전부 stderr로 (부모 프로세스 로그로 이어짐)
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        FileTextExtractor extractor = FileTextExtractor.standalone(ForkJoinPool.commonPool());
+
+        while (true) {
+            String filePath;
+            int maxChars;
+            try {
+                filePath = in.readUTF();
+                maxChars = in.readInt();
+            } catch (EOFException e) {
+                // 부모가 stdin을 닫으면 종료
+                return;
+            }
+
+            try {
+                byte[] text = extractor.extractInProcess(filePath, maxChars).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(STATUS_OK);
+                out.writeInt(text.length);
+                out.write(text);
+            } catch (IllegalArgumentException e) {
+                out.writeByte(STATUS_UNSUPPORTED);
+                out.writeUTF(truncate(e.getMessage()));
+            } catch (Exception e) {
+                out.writeByte(STATUS_IO_ERROR);
+                out.writeUTF(truncate(e.toString()));
+            }
+            out.flush();
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= MAX_ERROR_MESSAGE_LENGTH ? message : message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+}
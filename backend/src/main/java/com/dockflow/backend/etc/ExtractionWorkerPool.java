@@ -0,0 +1,218 @@
+package com.dockflow.backend.etc;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 텍스트 추출 자식 JVM 풀
+ * 깨진 PDF/DOC 파싱이 오래 돌거나 메모리를 많이 잡아도 웹 JVM의 GC/응답 시간에 영향이 없도록 별도 프로세스에서 추출한다
+ * 워커는 재사용하되, 시간 초과/비정상 종료/일정 건수 처리 후에는 죽이고 새로 띄운다
+ */
+@Slf4j
+@Component
+public class ExtractionWorkerPool {
+
+    private static final String WORKER_MAIN = ExtractionWorkerMain.class.getName();
+    private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    @Value("${extraction.worker.enabled:false}")
+    private boolean enabled;
+
+    @Value("${extraction.worker.pool-size:2}")
+    private int poolSize;
+
+    @Value("${extraction.worker.max-heap:512m}")
+    private String maxHeap;
+
+    @Value("${extraction.worker.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    // 힙 누수/단편화 대비 워커 하나가 처리할 최대 건수
+    @Value("${extraction.worker.max-jobs-per-worker:200}")
+    private int maxJobsPerWorker;
+
+    private BlockingQueue<Worker> idleWorkers;
+    private ScheduledExecutorService watchdog;
+    private final List<Worker> workers = new ArrayList<>();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+
+        idleWorkers = new ArrayBlockingQueue<>(poolSize);
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "extraction-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 프로세스는 처음 쓸 때 띄움
+        for (int i = 0; i < poolSize; i++) {
+            Worker worker = new Worker(i);
+            workers.add(worker);
+            idleWorkers.add(worker);
+        }
+
+        log.info("추출 워커 풀 사용: {}개, -Xmx{}, 시간 제한 {}초", poolSize, maxHeap, timeoutSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* 자식 JVM에서 텍스트 추출 (빈 워커가 없으면 대기) */
+    public String extract(String filePath, int maxChars) throws IOException {
+        Worker worker;
+        try {
+            worker = idleWorkers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("추출 워커 대기 중 중단되었습니다.", e);
+        }
+
+        try {
+            return worker.extract(filePath, maxChars);
+        } finally {
+            idleWorkers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        watchdog.shutdownNow();
+        workers.forEach(Worker::stop);
+    }
+
+    // 실행 중인 애플리케이션과 같은 클래스패스로 워커 실행 (Boot 실행 jar면 PropertiesLauncher로 main 지정)
+    private List<String> command() {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-Xmx" + maxHeap);
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+
+        if (ExtractionWorkerPool.class.getClassLoader().getClass().getName().startsWith("org.springframework.boot.loader")) {
+            command.add("-Dloader.main=" + WORKER_MAIN);
+            command.add(BOOT_LAUNCHER);
+        } else {
+            command.add(WORKER_MAIN);
+        }
+        return command;
+    }
+
+    /* 자식 JVM 하나 (한 번에 한 요청만 처리) */
+    private class Worker {
+
+        private final int id;
+        private Process process;
+        private DataOutputStream requests;
+        private DataInputStream responses;
+        private int jobs;
+
+        Worker(int id) {
+            this.id = id;
+        }
+
+        String extract(String filePath, int maxChars) throws IOException {
+            if (process == null || !process.isAlive() || jobs >= maxJobsPerWorker) {
+                restart();
+            }
+            jobs++;
+
+            // 시간 제한: 넘으면 프로세스를 죽여 읽기가 EOF로 끝나게 함
+            ScheduledFuture<?> killer = watchdog.schedule(process::destroyForcibly, timeoutSeconds, TimeUnit.SECONDS);
+            try {
+                requests.writeUTF(filePath);
+                requests.writeInt(maxChars);
+                requests.flush();
+
+                return readResponse();
+
+            } catch (ExtractionFailedException e) {
+                throw e;
+            } catch (IOException e) {
+                boolean timedOut = killer.isDone();
+                stop();
+
+                if (timedOut) {
+                    log.warn("추출 워커 #{} 시간 초과({}초)로 재시작: {}", id, timeoutSeconds, filePath);
+                    throw new IOException("텍스트 추출 시간이 초과되었습니다.", e);
+                }
+                log.warn("추출 워커 #{} 비정상 종료로 재시작: {}", id, filePath, e);
+                throw new IOException("텍스트 추출 워커가 비정상 종료되었습니다.", e);
+
+            } finally {
+                killer.cancel(false);
+            }
+        }
+
+        private String readResponse() throws IOException {
+            byte status = responses.readByte();
+
+            return switch (status) {
+                case ExtractionWorkerMain.STATUS_OK -> {
+                    byte[] text = new byte[responses.readInt()];
+                    responses.readFully(text);
+                    yield new String(text, StandardCharsets.UTF_8);
+                }
+                case ExtractionWorkerMain.STATUS_UNSUPPORTED -> throw new IllegalArgumentException(responses.readUTF());
+                case ExtractionWorkerMain.STATUS_IO_ERROR -> throw new ExtractionFailedException(responses.readUTF());
+                default -> throw new IOException("알 수 없는 워커 응답입니다. : " + status);
+            };
+        }
+
+        private void restart() throws IOException {
+            stop();
+
+            process = new ProcessBuilder(command())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            requests = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            responses = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+            jobs = 0;
+
+            log.info("추출 워커 #{} 시작: pid={}", id, process.pid());
+        }
+
+        void stop() {
+            if (process != null) {
+                process.destroyForcibly();
+                process = null;
+            }
+        }
+    }
+
+    /* 워커는 정상이고 파일 파싱만 실패한 경우 (워커를 재시작하지 않음) */
+    private static class ExtractionFailedException extends IOException {
+
+        ExtractionFailedException(String message) {
+            super(message);
+        }
+    }
+}
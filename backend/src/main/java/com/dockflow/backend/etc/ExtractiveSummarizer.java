@@ -0,0 +1,225 @@
+package com.dockflow.backend.etc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/*
+ * 로컬 추출 요약 (AI 응답 전 임시 요약/태그용)
+ * 요약: 문장 TF-IDF 벡터의 코사인 유사도로 그래프를 만들고 TextRank로 중심 문장을 골라 원래 순서대로 이어 붙임
+ * 태그: 여러 문장에 걸쳐 반복되는 단어를 TF-IDF로 골라냄
+ */
+public final class ExtractiveSummarizer {
+
+    // TextRank는 문장 수의 제곱에 비례하므로 앞쪽 문장만 사용
+    private static final int MAX_SENTENCES = 300;
+    private static final int MAX_ITERATIONS = 30;
+    private static final double DAMPING = 0.85;
+    private static final double CONVERGENCE = 1e-4;
+
+    private static final int MIN_SENTENCE_LENGTH = 10;
+    private static final int MAX_SUMMARY_CHARS = 600;
+
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。])\\s+|\\n{2,}");
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]{2,}");
+
+    // 명사 뒤에 붙는 조사 (긴 것부터 확인)
+    private static final List<String> PARTICLES = List.of(
+            "에서는", "으로는", "에게서", "에서", "에게", "으로", "까지", "부터", "처럼", "보다",
+            "은", "는", "이", "가", "을", "를", "에", "의", "로", "와", "과", "도", "만");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "the", "and", "for", "that", "this", "with", "from", "are", "was", "were", "have", "has", "not", "but",
+            "있다", "있는", "있습니다", "합니다", "한다", "하는", "하고", "하여", "위한", "대한", "통해", "그리고",
+            "또는", "또한", "이러한", "그러나", "따라서", "경우", "것이", "것은", "것을", "수", "등", "및");
+
+    private ExtractiveSummarizer() {
+    }
+
+    /* 중심 문장 maxSentences개를 원래 순서대로 이어 붙인 요약 */
+    public static String summarize(String text, int maxSentences) {
+        List<String> sentences = splitSentences(text);
+        if (sentences.isEmpty()) {
+            return "";
+        }
+
+        List<Map<String, Double>> vectors = tfIdfVectors(sentences);
+        double[] ranks = textRank(vectors);
+
+        List<Integer> selected = IntStream.range(0, sentences.size())
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> ranks[i]).reversed())
+                .limit(maxSentences)
+                .sorted()
+                .toList();
+
+        StringBuilder summary = new StringBuilder();
+        for (int index : selected) {
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(sentences.get(index));
+        }
+
+        return summary.length() <= MAX_SUMMARY_CHARS ? summary.toString() : summary.substring(0, MAX_SUMMARY_CHARS) + "...";
+    }
+
+    /* 여러 문장에 걸쳐 반복되는 핵심 단어 count개 */
+    public static List<String> keywords(String text, int count) {
+        List<String> sentences = splitSentences(text);
+        Map<String, Integer> termFrequency = new HashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+
+        for (String sentence : sentences) {
+            Map<String, Integer> terms = terms(sentence);
+            terms.forEach((term, tf) -> {
+                termFrequency.merge(term, tf, Integer::sum);
+                documentFrequency.merge(term, 1, Integer::sum);
+            });
+        }
+
+        int total = Math.max(1, sentences.size());
+        return termFrequency.entrySet().stream()
+                .filter(entry -> documentFrequency.get(entry.getKey()) >= 2)
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Integer> entry) ->
+                        entry.getValue() * Math.log(1 + (double) total / documentFrequency.get(entry.getKey()))).reversed())
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> splitSentences(String text) {
+        List<String> sentences = new ArrayList<>();
+
+        for (String part : SENTENCE_END.split(text)) {
+            String sentence = part.replace('\n', ' ').trim();
+            if (sentence.length() >= MIN_SENTENCE_LENGTH) {
+                sentences.add(sentence);
+                if (sentences.size() >= MAX_SENTENCES) {
+                    break;
+                }
+            }
+        }
+        return sentences;
+    }
+
+    // 소문자화, 조사 제거, 숫자/불용어 제외
+    private static Map<String, Integer> terms(String sentence) {
+        Map<String, Integer> terms = new HashMap<>();
+        Matcher matcher = TERM.matcher(sentence);
+
+        while (matcher.find()) {
+            String term = stripParticle(matcher.group().toLowerCase());
+            if (term.length() < 2 || STOPWORDS.contains(term) || term.chars().allMatch(Character::isDigit)) {
+                continue;
+            }
+            terms.merge(term, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    private static String stripParticle(String term) {
+        for (String particle : PARTICLES) {
+            if (term.length() > particle.length() + 1 && term.endsWith(particle)) {
+                return term.substring(0, term.length() - particle.length());
+            }
+        }
+        return term;
+    }
+
+    private static List<Map<String, Double>> tfIdfVectors(List<String> sentences) {
+        List<Map<String, Integer>> termCounts = sentences.stream().map(ExtractiveSummarizer::terms).toList();
+
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Map<String, Integer> counts : termCounts) {
+            counts.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        }
+
+        List<Map<String, Double>> vectors = new ArrayList<>(termCounts.size());
+        for (Map<String, Integer> counts : termCounts) {
+            Map<String, Double> vector = new HashMap<>();
+            counts.forEach((term, tf) ->
+                    vector.put(term, tf * Math.log((double) sentences.size() / documentFrequency.get(term) + 1)));
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    // 유사도 가중 그래프에서 PageRank 반복
+    private static double[] textRank(List<Map<String, Double>> vectors) {
+        int n = vectors.size();
+        double[][] similarity = new double[n][n];
+        double[] outWeight = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double sim = cosine(vectors.get(i), vectors.get(j));
+                similarity[i][j] = sim;
+                similarity[j][i] = sim;
+                outWeight[i] += sim;
+                outWeight[j] += sim;
+            }
+        }
+
+        double[] ranks = new double[n];
+        Arrays.fill(ranks, 1.0 / n);
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double[] next = new double[n];
+            double delta = 0;
+
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int j = 0; j < n; j++) {
+                    if (similarity[j][i] > 0 && outWeight[j] > 0) {
+                        sum += similarity[j][i] / outWeight[j] * ranks[j];
+                    }
+                }
+                next[i] = (1 - DAMPING) / n + DAMPING * sum;
+                delta += Math.abs(next[i] - ranks[i]);
+            }
+
+            ranks = next;
+            if (delta < CONVERGENCE) {
+                break;
+            }
+        }
+        return ranks;
+    }
+
+    private static double cosine(Map<String, Double> a, Map<String, Double> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Double> smaller = a.size() <= b.size() ? a : b;
+        Map<String, Double> larger = smaller == a ? b : a;
+
+        double dot = 0;
+        for (Map.Entry<String, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                dot += entry.getValue() * other;
+            }
+        }
+        if (dot == 0) {
+            return 0;
+        }
+        return dot / (norm(a) * norm(b));
+    }
+
+    private static double norm(Map<String, Double> vector) {
+        double sum = 0;
+        for (double value : vector.values()) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+}
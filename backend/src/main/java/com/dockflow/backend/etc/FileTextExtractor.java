@@ -1,95 +1,138 @@
 package com.dockflow.backend.etc;
 
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.hwpf.HWPFDocument;
-import org.apache.poi.hwpf.extractor.WordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class FileTextExtractor {
 
-    /* 파일에서 텍스트 추출 */
-    public String extractText(String filePath) throws IOException {
-        File file = new File(filePath);
-        String fileName = file.getName().toLowerCase();
-
-        if (fileName.endsWith(".pdf")) {
-            return extractFromPdf(file);
-        } else if (fileName.endsWith(".docx")) {
-            return extractFromDocx(file);
-        } else if (fileName.endsWith(".doc")) {
-            return extractFromDoc(file);
-        } else if (fileName.endsWith(".txt")) {
-            return extractFromTxt(file);
-        }
+    private static final int DEFAULT_INITIAL_BUFFER_CHARS = 16 * 1024;
+    private static final int MAX_INITIAL_BUFFER_CHARS = 16 * 1024 * 1024;
 
-        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + fileName);
-    }
+    // 형식별 추출기 (TextExtractor 빈 전부)
+    private final List<TextExtractor> textExtractors;
+
+    // 사용하면 추출을 자식 JVM에 맡김 (자식 JVM 안에서는 null)
+    private final ExtractionWorkerPool extractionWorkerPool;
+
+    // 이 크기 이상인 파일은 무거운 추출로 보고 동시 실행 수를 제한
+    @Value("${extraction.memory.heavy-file-bytes:20971520}")
+    private long heavyFileBytes = 20L * 1024 * 1024;
 
-    /* PDF 텍스트 추출 */
-    private String extractFromPdf(File file) throws IOException {
-        try (PDDocument document = PDDocument.load(file)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-            return cleanText(text);
+    @Value("${extraction.memory.heavy-max-concurrent:2}")
+    private int heavyMaxConcurrent = 2;
+
+    private Map<FileType, TextExtractor> extractorsByType;
+    private Semaphore heavyExtractions;
+
+    @PostConstruct
+    void init() {
+        extractorsByType = new EnumMap<>(FileType.class);
+        for (TextExtractor extractor : textExtractors) {
+            extractorsByType.put(extractor.getFileType(), extractor);
         }
+
+        heavyExtractions = new Semaphore(heavyMaxConcurrent, true);
     }
 
-    /* DOCX 텍스트 추출 */
-    private String extractFromDocx(File file) throws IOException {
-        try (FileInputStream fis = new FileInputStream(file);
-             XWPFDocument document = new XWPFDocument(fis)) {
+    /* Spring 없이 생성 (추출 워커 프로세스용, 설정은 기본값) */
+    static FileTextExtractor standalone(ForkJoinPool pdfExtractionPool) {
+        List<TextExtractor> extractors = List.of(
+                new PdfTextExtractor(pdfExtractionPool),
+                new DocxTextExtractor(),
+                new DocTextExtractor(),
+                new XlsxTextExtractor(),
+                new PptxTextExtractor(),
+                new TxtTextExtractor()
+        );
+
+        FileTextExtractor extractor = new FileTextExtractor(extractors, null);
+        extractor.init();
+        return extractor;
+    }
 
-            StringBuilder text = new StringBuilder();
-            List<XWPFParagraph> paragraphs = document.getParagraphs();
+    /* 추출 가능한 형식인지 */
+    public boolean supports(FileType fileType) {
+        return extractorsByType.containsKey(fileType);
+    }
 
-            for (XWPFParagraph para : paragraphs) {
-                text.append(para.getText()).append("\n");
-            }
+    /* 파일에서 텍스트 추출 */
+    public String extractText(String filePath) throws IOException {
+        return extractText(filePath, Integer.MAX_VALUE);
+    }
 
-            return cleanText(text.toString());
+    /* 파일에서 텍스트 추출 (maxChars를 채우면 나머지 페이지/문단은 파싱하지 않음) */
+    public String extractText(String filePath, int maxChars) throws IOException {
+        if (extractionWorkerPool != null && extractionWorkerPool.isEnabled()) {
+            return extractionWorkerPool.extract(filePath, maxChars);
         }
+        return extractInProcess(filePath, maxChars);
     }
 
-    /* DOC 텍스트 추출 */
-    private String extractFromDoc(File file) throws IOException {
-        try (FileInputStream fis = new FileInputStream(file);
-             HWPFDocument document = new HWPFDocument(fis);
-             WordExtractor extractor = new WordExtractor(document)) {
+    /* 현재 JVM에서 추출 (형식은 확장자가 아니라 매직 바이트로 판별) */
+    String extractInProcess(String filePath, int maxChars) throws IOException {
+        File file = new File(filePath);
+        FileType fileType = FileTypeDetector.detect(file);
 
-            String text = extractor.getText();
-            return cleanText(text);
+        TextExtractor extractor = extractorsByType.get(fileType);
+        if (extractor == null) {
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + fileType);
         }
-    }
 
-    /* TXT 텍스트 추출 */
-    private String extractFromTxt(File file) throws IOException {
-        return cleanText(new String(java.nio.file.Files.readAllBytes(file.toPath()), "UTF-8"));
-    }
+        boolean heavy = file.length() >= heavyFileBytes;
+        if (heavy) {
+            acquireHeavySlot(file);
+        }
 
-    /* 텍스트 정리 */
-    private String cleanText(String text) {
+        try {
+            TextBudget budget = new TextBudget(maxChars, expectedChars(file, fileType));
+            extractor.extract(file, budget);
 
-        if (text == null) return "";
+            if (budget.isFull()) {
+                log.info("추출 예산 {}자에 도달해 추출을 조기 종료했습니다: {}", maxChars, file.getName());
+            }
 
-        // 연속된 공백 하나로
-        text = text.replaceAll("[ \\t]+", " ");
+            return budget.finish();
+        } finally {
+            if (heavy) {
+                heavyExtractions.release();
+            }
+        }
+    }
 
-        // 연속된 줄바꿈 2개로 제한
-        text = text.replaceAll("\\n{3,}", "\n\n");
+    // 결과 버퍼 초기 크기 (TXT는 파일 크기, 나머지는 기본값으로 시작해 늘림)
+    private static int expectedChars(File file, FileType fileType) {
+        if (fileType == FileType.TXT) {
+            return (int) Math.min(file.length(), MAX_INITIAL_BUFFER_CHARS);
+        }
+        return DEFAULT_INITIAL_BUFFER_CHARS;
+    }
 
-        return text.trim();
+    // 큰 파일 동시 추출 수 제한 (대기 중 인터럽트되면 추출 실패)
+    private void acquireHeavySlot(File file) throws IOException {
+        if (!heavyExtractions.tryAcquire()) {
+            log.info("대용량 추출 대기: {} ({}B), 대기 {}건", file.getName(), file.length(), heavyExtractions.getQueueLength() + 1);
+            try {
+                heavyExtractions.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("대용량 추출 대기 중 중단되었습니다.", e);
+            }
+        }
     }
 
     /* 텍스트 길이 제한 (토큰 절약) */
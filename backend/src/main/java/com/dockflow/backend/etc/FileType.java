@@ -0,0 +1,43 @@
+package com.dockflow.backend.etc;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/* 텍스트 추출을 지원하는 파일 형식 */
+@Getter
+@RequiredArgsConstructor
+public enum FileType {
+    PDF("pdf", "application/pdf"),
+    DOCX("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+    DOC("doc", "application/msword"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    PPTX("pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+    TXT("txt", "text/plain");
+
+    private final String extension;
+
+    // 다운로드 응답 Content-Type
+    private final String mediaType;
+
+    /* 파일명 확장자로 형식 찾기 */
+    public static Optional<FileType> fromFileName(String fileName) {
+        if (fileName == null) {
+            return Optional.empty();
+        }
+
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex < 0) {
+            return Optional.empty();
+        }
+
+        String extension = fileName.substring(lastDotIndex + 1).toLowerCase();
+        for (FileType type : values()) {
+            if (type.extension.equals(extension)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
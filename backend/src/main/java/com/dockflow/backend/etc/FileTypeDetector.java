@@ -0,0 +1,137 @@
+package com.dockflow.backend.etc;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/*
+ * 매직 바이트로 파일 형식 판별
+ * 확장자만 믿지 않고 내용으로 형식을 확인해서, 지원하지 않거나 확장자가 바뀐 파일은 저장/요약 전에 거부한다
+ */
+public final class FileTypeDetector {
+
+    private static final int HEADER_BYTES = 8192;
+    private static final int PDF_HEADER_SEARCH_BYTES = 1024;
+
+    // OOXML 판별 시 확인할 최대 ZIP 항목 수 ([Content_Types].xml, _rels 다음에 본문 폴더가 나옴)
+    private static final int MAX_ZIP_ENTRIES = 100;
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private FileTypeDetector() {
+    }
+
+    /* 저장된 파일 형식 판별 */
+    public static FileType detect(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return detect(in, file.getName());
+        }
+    }
+
+    /* 형식 판별 (지원하지 않거나 확장자와 내용이 다르면 IllegalArgumentException) */
+    public static FileType detect(InputStream input, String fileName) throws IOException {
+        FileType declared = FileType.fromFileName(fileName)
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + fileName));
+
+        BufferedInputStream in = new BufferedInputStream(input, HEADER_BYTES);
+        in.mark(HEADER_BYTES);
+        byte[] header = in.readNBytes(HEADER_BYTES);
+        in.reset();
+
+        FileType detected = sniff(header, in, declared);
+        if (detected == null) {
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + fileName);
+        }
+        if (detected != declared) {
+            throw new IllegalArgumentException("파일 내용이 확장자와 일치하지 않습니다. : " + fileName);
+        }
+        return detected;
+    }
+
+    private static FileType sniff(byte[] header, InputStream in, FileType declared) throws IOException {
+        if (declared == FileType.TXT && isText(header)) {
+            return FileType.TXT;
+        }
+        if (isPdf(header, declared)) {
+            return FileType.PDF;
+        }
+        if (startsWith(header, ZIP_MAGIC)) {
+            return sniffOoxml(in);
+        }
+        if (startsWith(header, OLE2_MAGIC)) {
+            // OLE2 컨테이너는 DOC/XLS/PPT 공통, 구형 형식 중에는 DOC만 지원
+            return declared == FileType.DOC ? FileType.DOC : null;
+        }
+        return null;
+    }
+
+    // 매직 바이트는 맨 앞에서만 확인하고, 앞에 다른 바이트가 붙은 PDF(뷰어는 첫 1KB 안의 헤더를 허용)는 확장자가 PDF일 때만 찾아봄
+    private static boolean isPdf(byte[] header, FileType declared) {
+        if (startsWith(header, PDF_MAGIC)) {
+            return true;
+        }
+        return declared == FileType.PDF && indexOf(header, PDF_MAGIC, PDF_HEADER_SEARCH_BYTES) >= 0;
+    }
+
+    // OOXML은 ZIP 안의 본문 폴더로 구분 (word/, xl/, ppt/)
+    private static FileType sniffOoxml(InputStream in) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+
+        for (int i = 0; i < MAX_ZIP_ENTRIES && (entry = zip.getNextEntry()) != null; i++) {
+            String name = entry.getName();
+            if (name.startsWith("word/")) {
+                return FileType.DOCX;
+            }
+            if (name.startsWith("xl/")) {
+                return FileType.XLSX;
+            }
+            if (name.startsWith("ppt/")) {
+                return FileType.PPTX;
+            }
+        }
+        return null;
+    }
+
+    // NUL 바이트가 없으면 텍스트로 봄 (인코딩은 따지지 않음)
+    private static boolean isText(byte[] header) {
+        for (byte b : header) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int searchLimit) {
+        int last = Math.min(data.length, searchLimit) - pattern.length;
+        for (int i = 0; i <= last; i++) {
+            boolean match = true;
+            for (int j = 0; j < pattern.length && match; j++) {
+                match = data[i + j] == pattern[j];
+            }
+            if (match) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+
+/*
+ * OOXML 본문 SAX 핸들러 (DOCX word/document.xml, PPTX 슬라이드)
+ * DOM을 만들지 않고 텍스트 요소(t)만 예산에 흘려 넣으며, 예산을 채우면 StopParsingException으로 파싱을 끊는다
+ * 표(tbl)는 행(tr)마다 한 줄로, 셀(tc)은 TextBudget.CELL_SEPARATOR로 구분 (WordprocessingML/DrawingML 모두 같은 요소 이름)
+ */
+class OoxmlTextHandler extends DefaultHandler {
+
+    static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    static final String DRAWING_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+
+    private final TextBudget budget;
+    private final String namespace;
+    private boolean inText;
+    private int tableDepth;
+    private boolean firstCell;
+    private boolean cellHasParagraph;
+
+    OoxmlTextHandler(TextBudget budget, String namespace) {
+        this.budget = budget;
+        this.namespace = namespace;
+    }
+
+    /* 읽기 전용으로 패키지 열기 (ZIP 전체를 메모리에 올리지 않음) */
+    static OPCPackage open(File file) throws IOException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException("OOXML 파일을 열 수 없습니다. : " + file.getName(), e);
+        }
+    }
+
+    /* 파트 하나를 파싱 (예산을 채우면 false) */
+    static boolean parse(InputStream in, TextBudget budget, String namespace) throws IOException {
+        try {
+            XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(new OoxmlTextHandler(budget, namespace));
+            reader.parse(new InputSource(in));
+            return !budget.isFull();
+        } catch (StopParsingException e) {
+            return false;
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("OOXML 본문을 읽을 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+        if (!namespace.equals(uri)) {
+            return;
+        }
+
+        switch (localName) {
+            case "t" -> inText = true;
+            case "tbl" -> tableDepth++;
+            case "tr" -> firstCell = true;
+            case "tc" -> {
+                if (!firstCell) {
+                    append(TextBudget.CELL_SEPARATOR);
+                }
+                firstCell = false;
+                cellHasParagraph = false;
+            }
+            case "p" -> {
+                // 셀 안의 문단은 같은 행에 공백으로 이어 씀
+                if (tableDepth > 0 && cellHasParagraph) {
+                    append(" ");
+                }
+                cellHasParagraph = true;
+            }
+            case "tab" -> append("\t");
+            case "br", "cr" -> append("\n");
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if (!namespace.equals(uri)) {
+            return;
+        }
+
+        switch (localName) {
+            case "t" -> inText = false;
+            case "p" -> {
+                if (tableDepth == 0) {
+                    append("\n");
+                }
+            }
+            case "tr" -> append("\n");
+            case "tbl" -> tableDepth--;
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        if (inText && !budget.append(CharBuffer.wrap(ch, start, length))) {
+            throw new StopParsingException();
+        }
+    }
+
+    private void append(String text) throws SAXException {
+        if (!budget.append(text)) {
+            throw new StopParsingException();
+        }
+    }
+
+    /* 예산 도달로 파싱 중단 (오류 아님) */
+    static class StopParsingException extends SAXException {
+
+        StopParsingException() {
+            super("추출 예산 도달");
+        }
+    }
+}
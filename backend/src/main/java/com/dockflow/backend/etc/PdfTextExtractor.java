@@ -0,0 +1,193 @@
+package com.dockflow.backend.etc;
+
+import com.dockflow.backend.controller.config.AsyncConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/* PDF 텍스트 추출 (몇 페이지씩 추출하며 예산을 채우면 중단, 페이지가 많으면 구간별 병렬 추출) */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PdfTextExtractor implements TextExtractor {
+
+    // 예산 확인 단위 (이 페이지 수만큼씩 추출하고 예산을 확인)
+    private static final int PAGES_PER_STEP = 5;
+
+    @Qualifier(AsyncConfig.PDF_EXTRACTION_POOL)
+    private final ForkJoinPool pdfExtractionPool;
+
+    // 이 페이지 수 이상인 PDF는 구간으로 나눠 병렬 추출
+    @Value("${extraction.pdf.parallel-min-pages:64}")
+    private int parallelMinPages = 64;
+
+    @Value("${extraction.pdf.pages-per-segment:16}")
+    private int pagesPerSegment = 16;
+
+    // 작업 하나가 파싱에 쓰는 힙 상한 (넘는 부분은 임시 파일로)
+    @Value("${extraction.memory.per-job-bytes:67108864}")
+    private long perJobMemoryBytes = 64L * 1024 * 1024;
+
+    @Value("${extraction.memory.temp-dir:${java.io.tmpdir}}")
+    private File tempDirectory = new File(System.getProperty("java.io.tmpdir"));
+
+    @Override
+    public FileType getFileType() {
+        return FileType.PDF;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        int pageCount;
+
+        try (PDDocument document = load(file, perJobMemoryBytes)) {
+            pageCount = document.getNumberOfPages();
+
+            if (pageCount < parallelMinPages || pdfExtractionPool.getParallelism() < 2) {
+                PDFTextStripper stripper = new PDFTextStripper();
+
+                for (int startPage = 1; startPage <= pageCount && !budget.isFull(); startPage += PAGES_PER_STEP) {
+                    stripper.setStartPage(startPage);
+                    stripper.setEndPage(Math.min(startPage + PAGES_PER_STEP - 1, pageCount));
+                    budget.append(stripper.getText(document));
+                }
+                return;
+            }
+        }
+
+        extractInParallel(file, pageCount, budget);
+    }
+
+    /*
+     * 페이지 구간 병렬 추출
+     * PDDocument는 스레드 안전하지 않아 구간마다 문서를 따로 열고 PDFTextStripper도 구간마다 만든다
+     * 풀 크기만큼의 구간을 한 묶음으로 실행하고, 결과는 페이지 순서대로 이어 붙이며 묶음마다 예산을 확인
+     * 한 구간이 실패하거나 예산을 채우면 새 묶음을 만들지 않고, 대기 중인 구간은 취소, 실행 중인 구간은 다음 페이지에서 멈춤
+     * 메모리 예산은 동시에 열린 구간끼리 나눠 쓴다
+     */
+    private void extractInParallel(File file, int pageCount, TextBudget budget) throws IOException {
+        int wave = pdfExtractionPool.getParallelism();
+        long segmentMemoryBytes = perJobMemoryBytes / wave;
+        int startPage = 1;
+
+        log.info("PDF 병렬 추출: {}페이지, 구간 {}페이지, 병렬도 {}", pageCount, pagesPerSegment, wave);
+
+        SegmentCancellation cancellation = new SegmentCancellation();
+        List<ForkJoinTask<String>> segments = new ArrayList<>(wave);
+
+        try {
+            while (startPage <= pageCount && !budget.isFull()) {
+                segments.clear();
+
+                for (int i = 0; i < wave && startPage <= pageCount; i++, startPage += pagesPerSegment) {
+                    int from = startPage;
+                    int to = Math.min(startPage + pagesPerSegment - 1, pageCount);
+                    segments.add(pdfExtractionPool.submit(() -> stripPages(file, from, to, segmentMemoryBytes, cancellation)));
+                }
+
+                for (ForkJoinTask<String> segment : segments) {
+                    if (budget.isFull()) {
+                        break;
+                    }
+                    budget.append(joinSegment(segment, cancellation));
+                }
+            }
+        } finally {
+            // 끝났거나 실패했으면 남은 구간 중단 (끝난 구간에는 영향 없음)
+            cancellation.cancel(null);
+            segments.forEach(segment -> segment.cancel(false));
+        }
+    }
+
+    private String stripPages(File file, int startPage, int endPage, long memoryBytes, SegmentCancellation cancellation) throws IOException {
+        cancellation.check();
+
+        try (PDDocument document = load(file, memoryBytes)) {
+            PDFTextStripper stripper = new CancellableTextStripper(cancellation);
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return stripper.getText(document);
+        } catch (IOException | RuntimeException e) {
+            // 다른 구간도 멈추도록 알림
+            cancellation.cancel(e);
+            throw e;
+        }
+    }
+
+    // 힙은 memoryBytes까지만 쓰고 나머지 스크래치는 임시 파일로
+    private PDDocument load(File file, long memoryBytes) throws IOException {
+        return PDDocument.load(file, MemoryUsageSetting.setupMixed(memoryBytes).setTempDir(tempDirectory));
+    }
+
+    // 다른 구간이 먼저 실패해 멈춘 구간이면 처음 실패한 원인으로 던짐
+    private static String joinSegment(ForkJoinTask<String> segment, SegmentCancellation cancellation) throws IOException {
+        try {
+            return segment.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF 추출이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = cancellation.failure() != null ? cancellation.failure() : e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("PDF 구간 추출에 실패했습니다.", cause);
+        }
+    }
+
+    /* 구간 추출 중단 신호 (처음 실패한 원인을 함께 기록) */
+    private static final class SegmentCancellation {
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        void cancel(Throwable cause) {
+            if (cause != null) {
+                failure.compareAndSet(null, cause);
+            }
+            cancelled = true;
+        }
+
+        void check() throws IOException {
+            if (cancelled) {
+                throw new IOException("PDF 구간 추출이 취소되었습니다.");
+            }
+        }
+
+        Throwable failure() {
+            return failure.get();
+        }
+    }
+
+    /* 페이지를 시작할 때마다 중단 여부 확인 */
+    private static final class CancellableTextStripper extends PDFTextStripper {
+
+        private final SegmentCancellation cancellation;
+
+        CancellableTextStripper(SegmentCancellation cancellation) throws IOException {
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            cancellation.check();
+            super.startPage(page);
+        }
+    }
+}
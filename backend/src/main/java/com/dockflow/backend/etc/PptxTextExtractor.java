@@ -0,0 +1,109 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.springframework.stereotype.Component;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/* PPTX 텍스트 추출 (XMLSlideShow를 만들지 않고 슬라이드 XML을 SAX로 읽음, presentation.xml의 슬라이드 목록 순) */
+@Component
+public class PptxTextExtractor implements TextExtractor {
+
+    private static final String PRESENTATION_NS = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @Override
+    public FileType getFileType() {
+        return FileType.PPTX;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        OPCPackage pkg = OoxmlTextHandler.open(file);
+
+        try {
+            for (PackagePart slide : slides(pkg, file)) {
+                try (InputStream in = slide.getInputStream()) {
+                    if (!OoxmlTextHandler.parse(in, budget, OoxmlTextHandler.DRAWING_NS) || !budget.append("\n")) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            // 읽기 전용으로 열었으므로 저장 없이 닫음
+            pkg.revert();
+        }
+    }
+
+    // 발표 순서대로 슬라이드 파트 (파일 이름은 슬라이드를 옮기거나 지워도 그대로라 순서와 무관함)
+    private static List<PackagePart> slides(OPCPackage pkg, File file) throws IOException {
+        List<PackagePart> presentationParts = pkg.getPartsByRelationshipType(PackageRelationshipTypes.CORE_DOCUMENT);
+        if (presentationParts.isEmpty()) {
+            throw new IOException("PPTX 본문이 없습니다. : " + file.getName());
+        }
+        PackagePart presentation = presentationParts.get(0);
+
+        List<String> relationshipIds;
+        try (InputStream in = presentation.getInputStream()) {
+            relationshipIds = slideRelationshipIds(in);
+        }
+
+        List<PackagePart> slides = new ArrayList<>(relationshipIds.size());
+        try {
+            for (String relationshipId : relationshipIds) {
+                PackageRelationship relationship = presentation.getRelationship(relationshipId);
+                PackagePart slide = relationship != null ? presentation.getRelatedPart(relationship) : null;
+                if (slide != null) {
+                    slides.add(slide);
+                }
+            }
+        } catch (InvalidFormatException e) {
+            throw new IOException("PPTX 슬라이드를 찾을 수 없습니다. : " + file.getName(), e);
+        }
+        return slides;
+    }
+
+    // p:sldIdLst의 p:sldId r:id 목록 (문서 순서 = 발표 순서)
+    private static List<String> slideRelationshipIds(InputStream in) throws IOException {
+        SlideListHandler handler = new SlideListHandler();
+        try {
+            XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(new InputSource(in));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("PPTX 슬라이드 목록을 읽을 수 없습니다.", e);
+        }
+        return handler.relationshipIds;
+    }
+
+    private static class SlideListHandler extends DefaultHandler {
+
+        private final List<String> relationshipIds = new ArrayList<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (PRESENTATION_NS.equals(uri) && "sldId".equals(localName)) {
+                String relationshipId = attributes.getValue(RELATIONSHIP_NS, "id");
+                if (relationshipId != null) {
+                    relationshipIds.add(relationshipId);
+                }
+            }
+        }
+    }
+}
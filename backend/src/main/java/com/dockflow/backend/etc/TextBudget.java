@@ -0,0 +1,48 @@
+package com.dockflow.backend.etc;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/* 추출 예산 (정리된 텍스트 기준으로 최대 글자 수를 채우면 더 받지 않음) */
+public class TextBudget {
+
+    // 표 셀 구분자 (탭/공백은 정리하면서 공백 하나로 합쳐지므로 정리 후에도 남는 구분자를 씀, 요약 압축이 표 행을 알아보는 데 사용)
+    public static final String CELL_SEPARATOR = " | ";
+
+    private final int maxChars;
+    private final TextNormalizer text;
+
+    TextBudget(int maxChars, int expectedChars) {
+        this.maxChars = maxChars;
+        this.text = new TextNormalizer(maxChars, expectedChars);
+    }
+
+    // 예산이 남아 있으면 true
+    public boolean append(CharSequence chunk) {
+        return text.append(chunk, 0, chunk.length());
+    }
+
+    public boolean append(Reader reader) throws IOException {
+        return text.append(reader);
+    }
+
+    public boolean isFull() {
+        return text.isFull();
+    }
+
+    public int maxChars() {
+        return maxChars;
+    }
+
+    String finish() {
+        return text.finish();
+    }
+
+    /* 콜백 안에서 검사 예외를 던질 수 없는 파서용 중단 신호 (오류 아님) */
+    static class ExhaustedException extends RuntimeException {
+
+        ExhaustedException() {
+            super("추출 예산 도달", null, false, false);
+        }
+    }
+}
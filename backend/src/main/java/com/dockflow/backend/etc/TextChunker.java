@@ -0,0 +1,82 @@
+package com.dockflow.backend.etc;
+
+import com.dockflow.backend.claude.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* 긴 텍스트를 토큰 예산 단위 구간으로 분할 (문단 → 줄 → 글자 경계 순으로 자름) */
+public final class TextChunker {
+
+    private TextChunker() {
+    }
+
+    public static List<String> split(String text, int maxTokens) {
+        List<String> sections = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (String paragraph : text.split("\n\n")) {
+            int tokens = TokenEstimator.estimate(paragraph);
+
+            // 문단 하나가 예산보다 크면 잘라서 각각 구간으로
+            if (tokens > maxTokens) {
+                flush(sections, current);
+                currentTokens = 0;
+                sections.addAll(splitLarge(paragraph, maxTokens));
+                continue;
+            }
+
+            if (currentTokens + tokens > maxTokens) {
+                flush(sections, current);
+                currentTokens = 0;
+            }
+
+            current.append(paragraph).append("\n\n");
+            currentTokens += tokens;
+        }
+
+        flush(sections, current);
+        return sections;
+    }
+
+    private static List<String> splitLarge(String paragraph, int maxTokens) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+
+        while (start < paragraph.length()) {
+            int end = start;
+            int quarterTokens = 0;
+
+            // 예산에 닿을 때까지 글자 단위로 전진 (1/4 토큰 단위로 계산: 한글은 글자당 4, 그 외는 1)
+            while (end < paragraph.length() && quarterTokens < maxTokens * 4) {
+                quarterTokens += TokenEstimator.isWide(paragraph.charAt(end)) ? 4 : 1;
+                end++;
+            }
+
+            // 줄바꿈이나 공백에서 자르기 (없으면 그대로)
+            if (end < paragraph.length()) {
+                int breakAt = Math.max(paragraph.lastIndexOf('\n', end), paragraph.lastIndexOf(' ', end));
+                if (breakAt > start) {
+                    end = breakAt + 1;
+                }
+            }
+
+            String piece = paragraph.substring(start, end).trim();
+            if (!piece.isEmpty()) {
+                pieces.add(piece);
+            }
+            start = end;
+        }
+
+        return pieces;
+    }
+
+    private static void flush(List<String> sections, StringBuilder current) {
+        String section = current.toString().trim();
+        if (!section.isEmpty()) {
+            sections.add(section);
+        }
+        current.setLength(0);
+    }
+}
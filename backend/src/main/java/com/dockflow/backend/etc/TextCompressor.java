@@ -0,0 +1,250 @@
+package com.dockflow.backend.etc;
+
+import com.dockflow.backend.claude.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * 요약 입력 압축 (AI 호출 전 로컬 전처리)
+ * 1. 반복되는 머리글/바닥글, 쪽 번호, 같은 줄을 제거 (반복 줄은 첫 번째만 남기고, 표 행과 스프레드시트는 건드리지 않음)
+ * 2. 그래도 토큰 예산을 넘으면 문장을 TF-IDF + 위치로 점수 매겨 예산 안에서 중요한 문장만 원래 순서대로 남김
+ */
+public final class TextCompressor {
+
+    // 이 횟수 이상 똑같이 반복되는 줄은 머리글/바닥글로 봄 (이보다 짧은 줄은 표 셀 등 정상 반복일 수 있어 제외)
+    private static final int BOILERPLATE_MIN_REPEATS = 3;
+    private static final int BOILERPLATE_MIN_LENGTH = 10;
+
+    // 표 행 표시 (줄 앞뒤 공백을 잘라도 남도록 구분자의 공백을 뺀 부분)
+    private static final String TABLE_CELL_MARK = TextBudget.CELL_SEPARATOR.strip();
+
+    // 이 길이 이상인 줄은 두 번째부터 중복으로 제거
+    private static final int DEDUPE_MIN_LENGTH = 20;
+
+    // 문장 하나의 토큰 상한 (마침표 없는 슬라이드/표 문단이 통째로 한 문장이 되어 예산을 넘으면 통째로 빠지므로 줄/단어 경계로 나눔)
+    private static final int SENTENCE_MAX_TOKENS = 200;
+
+    // 문서 앞/뒤 10% 문장(도입, 결론)과 문단 첫 문장 가중치
+    private static final double EDGE_RATIO = 0.1;
+    private static final double EDGE_BOOST = 1.3;
+    private static final double PARAGRAPH_LEAD_BOOST = 1.1;
+
+    // 숫자만 있는 줄은 표의 숫자 칸일 수 있으므로 쪽 번호 표시가 있는 형태만
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "^[-–]\\s*\\d{1,4}\\s*[-–]$"
+                    + "|^\\d{1,4}\\s*/\\s*\\d{1,4}$"
+                    + "|^(?i:page)\\s*\\d{1,4}(?:\\s*(?i:of)\\s*\\d{1,4})?$"
+                    + "|^\\d{1,4}\\s*(?:쪽|페이지)$");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。])\\s+");
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]{2,}");
+
+    private TextCompressor() {
+    }
+
+    /* sourceType이 XLSX면 행이 같은 모양으로 반복되는 게 정상이라 반복 줄 제거를 건너뜀 */
+    public static String compress(String text, int maxTokens, FileType sourceType) {
+        String cleaned = sourceType == FileType.XLSX ? text : removeBoilerplate(text);
+
+        if (TokenEstimator.estimate(cleaned) <= maxTokens) {
+            return cleaned;
+        }
+        return selectSentences(cleaned, maxTokens);
+    }
+
+    /* 머리글/바닥글, 쪽 번호, 중복 줄 제거 (반복 줄은 첫 번째만 남김, 빈 줄은 문단 구분이라 유지) */
+    static String removeBoilerplate(String text) {
+        String[] lines = text.split("\n", -1);
+        String[] keys = new String[lines.length];
+        Map<String, Integer> repeats = new HashMap<>();
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (isRepeatCandidate(line)) {
+                keys[i] = lineKey(line);
+                repeats.merge(keys[i], 1, Integer::sum);
+            }
+        }
+
+        StringBuilder out = new StringBuilder(text.length());
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+
+            if (line.isEmpty()) {
+                out.append('\n');
+                continue;
+            }
+            if (PAGE_NUMBER.matcher(line).matches()) {
+                continue;
+            }
+
+            // 머리글/바닥글(짧아도 여러 번 반복) 또는 긴 중복 줄이면 두 번째부터 제거
+            boolean removable = keys[i] != null
+                    && (line.length() >= DEDUPE_MIN_LENGTH || repeats.get(keys[i]) >= BOILERPLATE_MIN_REPEATS);
+            if (removable && !seen.add(keys[i])) {
+                continue;
+            }
+
+            out.append(line).append('\n');
+        }
+
+        return TextNormalizer.normalize(out);
+    }
+
+    // 반복 제거 대상: 일정 길이 이상이고 글자가 있는 줄 (추출기가 셀 구분자로 이어 쓴 표 행, 숫자/기호뿐인 줄은 같은 값이 반복되는 게 정상)
+    private static boolean isRepeatCandidate(String line) {
+        if (line.length() < BOILERPLATE_MIN_LENGTH || line.contains(TABLE_CELL_MARK)) {
+            return false;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            if (Character.isLetter(line.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 대소문자/공백 차이만 같은 줄로 봄 (숫자가 다르면 다른 줄: 표의 행 등)
+    private static String lineKey(String line) {
+        StringBuilder key = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /* 예산 안에서 점수가 높은 문장만 원래 순서대로 남김 (내용이 있으면 빈 결과를 내지 않음) */
+    static String selectSentences(String text, int maxTokens) {
+        List<Sentence> sentences = splitSentences(text, Math.max(1, Math.min(SENTENCE_MAX_TOKENS, maxTokens)));
+        score(sentences);
+
+        List<Sentence> ranked = new ArrayList<>(sentences);
+        ranked.sort(Comparator.comparingDouble(Sentence::getScore).reversed());
+
+        boolean[] selected = new boolean[sentences.size()];
+        int usedTokens = 0;
+        for (Sentence sentence : ranked) {
+            if (usedTokens + sentence.tokens <= maxTokens) {
+                selected[sentence.index] = true;
+                usedTokens += sentence.tokens;
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        int lastParagraph = -1;
+        for (Sentence sentence : sentences) {
+            if (!selected[sentence.index]) {
+                continue;
+            }
+            if (out.length() > 0) {
+                out.append(sentence.paragraph == lastParagraph ? " " : "\n\n");
+            }
+            out.append(sentence.text);
+            lastParagraph = sentence.paragraph;
+        }
+
+        // 예산보다 큰 조각만 남은 경우 (토큰 추정 오차 등) 앞부분을 예산만큼 자름
+        if (out.length() == 0 && !sentences.isEmpty()) {
+            List<String> head = TextChunker.split(text, maxTokens);
+            return head.isEmpty() ? "" : head.get(0);
+        }
+
+        return out.toString();
+    }
+
+    // 문단 → 문장 (문장 끝 부호 기준), 상한보다 긴 문장은 줄 → 단어 경계로 다시 나눔
+    private static List<Sentence> splitSentences(String text, int sentenceMaxTokens) {
+        List<Sentence> sentences = new ArrayList<>();
+        String[] paragraphs = text.split("\n\n");
+
+        for (int p = 0; p < paragraphs.length; p++) {
+            boolean lead = true;
+
+            for (String part : SENTENCE_END.split(paragraphs[p].trim())) {
+                for (String piece : TextChunker.split(part, sentenceMaxTokens)) {
+                    // PDF 줄바꿈은 문장 중간에도 들어가므로 문장 안에서는 공백으로
+                    String sentence = piece.replace('\n', ' ').trim();
+                    if (sentence.isEmpty()) {
+                        continue;
+                    }
+                    sentences.add(new Sentence(sentences.size(), p, lead, sentence));
+                    lead = false;
+                }
+            }
+        }
+
+        return sentences;
+    }
+
+    // 점수 = 문장 내 단어 TF-IDF 합 / sqrt(단어 수) × 위치 가중치
+    private static void score(List<Sentence> sentences) {
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Sentence sentence : sentences) {
+            for (String term : sentence.termFrequency.keySet()) {
+                documentFrequency.merge(term, 1, Integer::sum);
+            }
+        }
+
+        int count = sentences.size();
+        int edge = Math.max(1, (int) (count * EDGE_RATIO));
+
+        for (Sentence sentence : sentences) {
+            double sum = 0;
+            int terms = 0;
+            for (Map.Entry<String, Integer> entry : sentence.termFrequency.entrySet()) {
+                double idf = Math.log((double) count / documentFrequency.get(entry.getKey())) + 1;
+                sum += entry.getValue() * idf;
+                terms += entry.getValue();
+            }
+
+            double score = terms == 0 ? 0 : sum / Math.sqrt(terms);
+            if (sentence.index < edge || sentence.index >= count - edge) {
+                score *= EDGE_BOOST;
+            }
+            if (sentence.lead) {
+                score *= PARAGRAPH_LEAD_BOOST;
+            }
+            sentence.score = score;
+        }
+    }
+
+    private static class Sentence {
+
+        private final int index;
+        private final int paragraph;
+        private final boolean lead;
+        private final String text;
+        private final int tokens;
+        private final Map<String, Integer> termFrequency = new HashMap<>();
+        private double score;
+
+        Sentence(int index, int paragraph, boolean lead, String text) {
+            this.index = index;
+            this.paragraph = paragraph;
+            this.lead = lead;
+            this.text = text;
+            this.tokens = TokenEstimator.estimate(text);
+
+            Matcher matcher = TERM.matcher(text);
+            while (matcher.find()) {
+                termFrequency.merge(matcher.group().toLowerCase(), 1, Integer::sum);
+            }
+        }
+
+        double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.dockflow.backend.etc;
+
+import java.io.File;
+import java.io.IOException;
+
+/*
+ * 형식별 텍스트 추출기
+ * 빈으로 등록하면 FileTextExtractor가 매직 바이트로 판별한 형식에 맞춰 골라 쓴다
+ * 예산을 채우면(budget.append가 false) 나머지는 파싱하지 않아야 한다
+ */
+public interface TextExtractor {
+
+    FileType getFileType();
+
+    void extract(File file, TextBudget budget) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.dockflow.backend.etc;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+ * 추출 텍스트 정리 (한 번 훑으면서 바로 결과 버퍼에 씀)
+ * 연속 공백/탭은 공백 하나로, 연속 줄바꿈은 2개까지, 앞뒤 공백 제거
+ * 정규식 replaceAll 두 번 + trim과 같은 결과를 중간 문자열 없이 만든다
+ */
+public final class TextNormalizer {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final StringBuilder out;
+    private final int maxLength;
+    private boolean inSpaceRun;
+    private int newlineRun;
+
+    public TextNormalizer(int maxLength, int initialCapacity) {
+        this.maxLength = maxLength;
+        this.out = new StringBuilder(Math.max(16, Math.min(maxLength, initialCapacity)));
+    }
+
+    public static String normalize(CharSequence text) {
+        TextNormalizer normalizer = new TextNormalizer(Integer.MAX_VALUE, text.length());
+        normalizer.append(text, 0, text.length());
+        return normalizer.finish();
+    }
+
+    public static String normalize(Reader reader, int maxLength) throws IOException {
+        TextNormalizer normalizer = new TextNormalizer(maxLength, READ_BUFFER_SIZE);
+        normalizer.append(reader);
+        return normalizer.finish();
+    }
+
+    /* 정리하면서 추가 (최대 길이를 채우면 false) */
+    public boolean append(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!append(text.charAt(i))) {
+                return false;
+            }
+        }
+        return !isFull();
+    }
+
+    public boolean append(char[] text, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (!append(text[i])) {
+                return false;
+            }
+        }
+        return !isFull();
+    }
+
+    /* Reader 끝까지 또는 최대 길이를 채울 때까지 읽음 */
+    public boolean append(Reader reader) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int read;
+
+        while ((read = reader.read(buffer)) != -1) {
+            if (!append(buffer, 0, read)) {
+                return false;
+            }
+        }
+        return !isFull();
+    }
+
+    private boolean append(char c) {
+        if (isFull()) {
+            return false;
+        }
+
+        if (c == ' ' || c == '\t') {
+            newlineRun = 0;
+            if (!inSpaceRun && out.length() > 0) {
+                out.append(' ');
+            }
+            inSpaceRun = true;
+        } else if (c == '\n') {
+            inSpaceRun = false;
+            if (out.length() > 0 && ++newlineRun <= 2) {
+                out.append('\n');
+            }
+        } else {
+            inSpaceRun = false;
+            newlineRun = 0;
+            // 앞쪽 제어 문자는 버림 (trim과 동일)
+            if (out.length() > 0 || c > ' ') {
+                out.append(c);
+            }
+        }
+        return true;
+    }
+
+    public boolean isFull() {
+        return out.length() >= maxLength;
+    }
+
+    public int length() {
+        return out.length();
+    }
+
+    /* 뒤쪽 공백 제거 후 결과 반환 */
+    public String finish() {
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        out.setLength(end);
+        return out.toString();
+    }
+}
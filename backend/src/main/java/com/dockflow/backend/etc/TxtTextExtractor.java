@@ -0,0 +1,27 @@
+package com.dockflow.backend.etc;
+
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/* TXT 텍스트 추출 (읽으면서 바로 정리, 예산만큼만 읽음) */
+@Component
+public class TxtTextExtractor implements TextExtractor {
+
+    @Override
+    public FileType getFileType() {
+        return FileType.TXT;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            budget.append(reader);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import org.springframework.stereotype.Component;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * XLSX 텍스트 추출 (XSSFWorkbook을 만들지 않고 시트를 SAX로 읽음)
+ * 시트마다 [시트명] 다음에 행 단위로, 셀은 TextBudget.CELL_SEPARATOR로 구분
+ */
+@Component
+public class XlsxTextExtractor implements TextExtractor {
+
+    @Override
+    public FileType getFileType() {
+        return FileType.XLSX;
+    }
+
+    @Override
+    public void extract(File file, TextBudget budget) throws IOException {
+        OPCPackage pkg = OoxmlTextHandler.open(file);
+
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            DataFormatter formatter = new DataFormatter();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext() && !budget.isFull()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (!budget.append("[" + sheets.getSheetName() + "]\n")) {
+                        break;
+                    }
+
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, new SheetTextHandler(budget), formatter, false));
+                    parser.parse(new InputSource(sheet));
+                } catch (TextBudget.ExhaustedException e) {
+                    break;
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("XLSX 파일을 읽을 수 없습니다. : " + file.getName(), e);
+        } finally {
+            // 읽기 전용으로 열었으므로 저장 없이 닫음
+            pkg.revert();
+        }
+    }
+
+    /* 셀 값을 예산에 흘려 넣음 (예산을 채우면 ExhaustedException으로 파싱 중단) */
+    private static class SheetTextHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final TextBudget budget;
+        private boolean firstCell;
+
+        SheetTextHandler(TextBudget budget) {
+            this.budget = budget;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            firstCell = true;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            append("\n");
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (formattedValue == null || formattedValue.isEmpty()) {
+                return;
+            }
+
+            if (!firstCell) {
+                append(TextBudget.CELL_SEPARATOR);
+            }
+            append(formattedValue);
+            firstCell = false;
+        }
+
+        private void append(String text) {
+            if (!budget.append(text)) {
+                throw new TextBudget.ExhaustedException();
+            }
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.dockflow.backend.repository.document;
 
 import com.dockflow.backend.entity.document.Document;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
@@ -54,4 +58,31 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     // 제목 검색
     Page<Document> findByTeamTeamNoAndTitleContainingAndIsActiveTrueOrderByCreatedAtDesc(Long teamNo, String keyword, Pageable pageable);
+
+    // 아직 팀 디렉토리에 있는 문서 (내용 주소 저장소 이전 대상, 이전에서 제외된 문서 빼고 documentNo 순으로 배치 조회)
+    @Query("""
+        SELECT d FROM Document d
+        WHERE d.contentHash IS NULL
+            AND d.isActive = true
+            AND d.documentNo > :documentNo
+            AND NOT EXISTS (
+                SELECT r FROM FileMigrationRecord r
+                WHERE r.document = d AND r.status = com.dockflow.backend.entity.document.FileMigrationRecord.MigrationStatus.SKIPPED
+            )
+        ORDER BY d.documentNo
+    """)
+    List<Document> findLegacyFiles(@Param("documentNo") Long documentNo, Pageable pageable);
+
+    // 보존 기간이 지난 삭제 문서 중 아직 파일 참조를 해제하지 않은 것
+    List<Document> findByIsActiveFalseAndContentHashIsNotNullAndDeletedAtBeforeOrderByDocumentNo(LocalDateTime deletedAt, Pageable pageable);
+
+    // 저장소 이전용 (삭제/수정과 겹치지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Document d WHERE d.documentNo = :documentNo")
+    Optional<Document> findByIdForUpdate(@Param("documentNo") Long documentNo);
+
+    // 같은 내용을 가리키는 문서의 경로 일괄 변경 (저장소 경로 재배치)
+    @Modifying
+    @Query("UPDATE Document d SET d.filePath = :filePath WHERE d.contentHash = :contentHash")
+    int updateFilePathByContentHash(@Param("contentHash") String contentHash, @Param("filePath") String filePath);
 }
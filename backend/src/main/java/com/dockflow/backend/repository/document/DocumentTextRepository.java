@@ -0,0 +1,14 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.DocumentText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface DocumentTextRepository extends JpaRepository<DocumentText, Long> {
+
+    Optional<DocumentText> findByDocumentDocumentNo(Long documentNo);
+
+    // 같은 내용(SHA-256)을 가진 다른 문서의 전체 추출 텍스트
+    Optional<DocumentText> findFirstByDocumentContentHashAndDocumentDocumentNoNotAndIsCompleteTrue(String contentHash, Long documentNo);
+}
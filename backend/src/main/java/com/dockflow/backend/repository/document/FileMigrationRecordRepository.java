@@ -0,0 +1,14 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.FileMigrationRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FileMigrationRecordRepository extends JpaRepository<FileMigrationRecord, Long> {
+
+    // 유예 시간이 지난 기존 파일 (삭제 대상)
+    List<FileMigrationRecord> findByStatusAndDeleteAfterBeforeOrderByRecordNo(FileMigrationRecord.MigrationStatus status, LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.StoredBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+    // 참조 추가 (없으면 참조 1로 생성, 있으면 +1), 같은 해시를 동시에 올려도 한 행으로 합쳐지고 커밋까지 행이 잠김
+    @Modifying
+    @Query(value = """
+        INSERT INTO stored_blob (content_hash, file_path, file_size, ref_count, created_at, updated_at)
+        VALUES (:contentHash, :filePath, :fileSize, 1, NOW(), NOW())
+        ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()
+    """, nativeQuery = true)
+    int retain(@Param("contentHash") String contentHash, @Param("filePath") String filePath, @Param("fileSize") long fileSize);
+
+    Optional<StoredBlob> findByContentHash(String contentHash);
+
+    // 경로 재배치용 (blobNo 순으로 배치 조회)
+    List<StoredBlob> findByBlobNoGreaterThanOrderByBlobNo(Long blobNo, Pageable pageable);
+
+    // 참조 해제용 (업로드와 동시에 파일을 지우지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StoredBlob b WHERE b.contentHash = :contentHash")
+    Optional<StoredBlob> findByContentHashForUpdate(@Param("contentHash") String contentHash);
+}
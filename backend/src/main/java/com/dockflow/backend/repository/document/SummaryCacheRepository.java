@@ -0,0 +1,7 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.SummaryCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SummaryCacheRepository extends JpaRepository<SummaryCache, String> {
+}
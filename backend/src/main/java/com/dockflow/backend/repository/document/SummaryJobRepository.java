@@ -0,0 +1,33 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.SummaryJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SummaryJobRepository extends JpaRepository<SummaryJob, Long> {
+
+    // 실행 가능한 작업 점유 (대기중 + 리스 만료된 실행중 작업, 다른 워커가 잠근 행은 건너뜀)
+    @Query(value = """
+        SELECT * FROM summary_job
+        WHERE (status = 'PENDING' AND next_run_at <= :now)
+            OR (status = 'RUNNING' AND lease_until < :now)
+        ORDER BY next_run_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<SummaryJob> findRunnableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 결과 기록용 (리스 확인과 갱신 사이에 다른 워커가 다시 점유하지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM SummaryJob j WHERE j.jobNo = :jobNo")
+    Optional<SummaryJob> findByIdForUpdate(@Param("jobNo") Long jobNo);
+
+    long countByStatus(SummaryJob.JobStatus status);
+}
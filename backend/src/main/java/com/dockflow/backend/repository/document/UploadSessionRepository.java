@@ -0,0 +1,27 @@
+package com.dockflow.backend.repository.document;
+
+import com.dockflow.backend.entity.document.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+
+    Optional<UploadSession> findByUploadId(String uploadId);
+
+    // 청크 수신 기록/완료 처리용 (병렬로 올라오는 청크가 비트맵을 덮어쓰지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.uploadId = :uploadId")
+    Optional<UploadSession> findByUploadIdForUpdate(@Param("uploadId") String uploadId);
+
+    List<UploadSession> findByStatusAndExpiresAtBefore(UploadSession.UploadStatus status, LocalDateTime now, Pageable pageable);
+
+    long countByMemberMemberIdAndStatus(String memberId, UploadSession.UploadStatus status);
+}
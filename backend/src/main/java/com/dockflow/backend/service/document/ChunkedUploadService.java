@@ -0,0 +1,319 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.dto.document.ChunkedUploadInitRequest;
+import com.dockflow.backend.dto.document.DocumentCreateRequest;
+import com.dockflow.backend.dto.document.UploadSessionResponse;
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.document.UploadSession;
+import com.dockflow.backend.entity.team.TeamMember;
+import com.dockflow.backend.etc.FileTextExtractor;
+import com.dockflow.backend.etc.FileType;
+import com.dockflow.backend.repository.document.UploadSessionRepository;
+import com.dockflow.backend.service.file.FileStorageService;
+import com.dockflow.backend.service.file.StoredFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * 재개 가능한 분할 업로드
+ * 시작 → 청크 N 업로드(순서 무관, 병렬 가능) → 완료
+ * 청크는 미리 전체 크기로 만든 .part 파일의 제 위치에 쓰고, 받은 청크는 세션 비트맵에 기록
+ * 연결이 끊기면 상태 조회로 빠진 청크만 다시 보내면 되고, 완료 시 파일 이름만 바꿔 문서로 등록 (요약 작업 등록)
+ * 청크 전송/파일 확인 중에는 DB 커넥션을 잡지 않도록 조회와 기록만 짧은 트랜잭션으로 실행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    // 비트맵 컬럼 크기(2048B)로 기록할 수 있는 최대 청크 수
+    private static final int MAX_CHUNKS = 2048 * 8;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileStorageService fileStorageService;
+    private final FileTextExtractor fileTextExtractor;
+    private final DocumentRegistrationService documentRegistrationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${file.upload.chunked.max-bytes:524288000}")
+    private long maxFileBytes;
+
+    @Value("${file.upload.chunked.chunk-bytes:5242880}")
+    private int chunkBytes;
+
+    // 마지막으로 청크를 받은 뒤 이 시간이 지나면 세션과 .part 파일 삭제
+    @Value("${file.upload.chunked.expire-hours:24}")
+    private long expireHours;
+
+    @Value("${file.upload.chunked.max-sessions-per-member:5}")
+    private int maxSessionsPerMember;
+
+    @Value("${file.upload.chunked.cleanup-batch-size:50}")
+    private int cleanupBatchSize;
+
+    // 청크 기록이 이 시간 안에 끝나지 않으면 중단된 것으로 보고 완료 처리를 막지 않음
+    @Value("${file.upload.chunked.write-timeout-seconds:600}")
+    private long writeTimeoutSeconds;
+
+    /* 분할 업로드 시작 (권한/형식/크기 확인 후 .part 파일 생성) */
+    @Transactional
+    public UploadSessionResponse initiate(ChunkedUploadInitRequest request, String memberId) {
+
+        // 1. 업로드 권한 확인
+        TeamMember uploader = documentRegistrationService.checkUploadPermission(request.getTeamNo(), memberId);
+
+        // 2. 형식 확인 (확장자로 먼저 거르고, 내용은 완료 시 매직 바이트로 확인)
+        FileType fileType = FileType.fromFileName(request.getFileName())
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + request.getFileName()));
+        if (!fileTextExtractor.supports(fileType)) {
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + request.getFileName());
+        }
+
+        // 3. 크기 및 진행 중인 업로드 수 제한
+        if (request.getFileSize() > maxFileBytes) {
+            throw new IllegalArgumentException("파일 크기는 " + FileStorageService.formatFileSize(maxFileBytes) + "를 초과할 수 없습니다.");
+        }
+        if (uploadSessionRepository.countByMemberMemberIdAndStatus(memberId, UploadSession.UploadStatus.UPLOADING) >= maxSessionsPerMember) {
+            throw new IllegalArgumentException("진행 중인 분할 업로드가 너무 많습니다. 완료되지 않은 업로드를 먼저 마쳐주세요.");
+        }
+
+        // 4. 청크 크기 결정 (청크 수가 비트맵 한도를 넘으면 청크를 키움)
+        long fileSize = request.getFileSize();
+        int chunkSize = (int) Math.max(chunkBytes, (fileSize + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        int chunkCount = (int) ((fileSize + chunkSize - 1) / chunkSize);
+
+        // 5. .part 파일 생성 및 세션 저장
+        String partFilePath = fileStorageService.createPartFile(fileSize);
+
+        try {
+            UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                    .uploadId(UUID.randomUUID().toString())
+                    .member(uploader.getMember())
+                    .team(uploader.getTeam())
+                    .title(request.getTitle())
+                    .category(request.getCategory())
+                    .originalFileName(request.getFileName())
+                    .partFilePath(partFilePath)
+                    .fileSize(fileSize)
+                    .chunkSize(chunkSize)
+                    .chunkCount(chunkCount)
+                    .receivedChunks(new byte[(chunkCount + 7) / 8])
+                    .expiresAt(expiresAt())
+                    .build());
+
+            log.info("분할 업로드 시작: uploadId={}, {}B, 청크 {}개 × {}B", session.getUploadId(), fileSize, chunkCount, chunkSize);
+
+            return UploadSessionResponse.from(session);
+        } catch (RuntimeException e) {
+            fileStorageService.deleteFile(partFilePath);
+            throw e;
+        }
+    }
+
+    /* 업로드 상태 (재개할 때 빠진 청크 확인) */
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getStatus(String uploadId, String memberId) {
+        return UploadSessionResponse.from(getOwnedSession(uploadId, memberId));
+    }
+
+    /* 청크 업로드 (같은 청크를 다시 보내면 덮어씀) */
+    public UploadSessionResponse uploadChunk(String uploadId, int index, InputStream body, long contentLength, String memberId) {
+
+        // 1. 세션/청크 번호 확인 후 기록 시작 표시 (행 잠금, 완료 처리가 시작됐으면 거부)
+        UploadSession session = transactionTemplate.execute(status -> {
+            UploadSession locked = getOwnedSessionForUpdate(uploadId, memberId);
+            if (locked.getStatus() != UploadSession.UploadStatus.UPLOADING) {
+                throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+            }
+            if (index < 0 || index >= locked.getChunkCount()) {
+                throw new IllegalArgumentException("청크 번호가 올바르지 않습니다. : " + index);
+            }
+
+            long length = locked.lengthOf(index);
+            if (contentLength >= 0 && contentLength != length) {
+                throw new IllegalArgumentException("청크 크기가 올바르지 않습니다. (" + contentLength + "/" + length + "B)");
+            }
+
+            locked.beginWrite(LocalDateTime.now());
+            return locked;
+        });
+
+        // 2. 파일의 청크 위치에 기록 (트랜잭션 밖), 실패해도 기록 중 표시는 해제
+        try {
+            fileStorageService.writeChunk(session.getPartFilePath(), session.offsetOf(index), session.lengthOf(index), body);
+        } catch (RuntimeException e) {
+            try {
+                endWrite(uploadId, null);
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+
+        // 3. 기록 종료 및 수신 기록 (병렬 청크가 비트맵을 덮어쓰지 않도록 행 잠금)
+        return endWrite(uploadId, index);
+    }
+
+    /* 업로드 완료 (모든 청크를 받았으면 파일 확정 후 문서 등록, 이미 완료됐거나 완료 처리 중이면 현재 상태 반환) */
+    public UploadSessionResponse complete(String uploadId, String memberId) {
+
+        // 1. 완료 처리 시작 (행 잠금, 이후 들어오는 청크는 거부하고 기록 중인 청크가 있으면 시작하지 않음)
+        CompletionStart start = transactionTemplate.execute(status -> {
+            UploadSession locked = getOwnedSessionForUpdate(uploadId, memberId);
+
+            // 다른 완료 요청(재시도/중복 클릭)이 먼저 시작했으면 그 상태 반환 (COMPLETING이면 상태 조회로 확인)
+            if (locked.getStatus() != UploadSession.UploadStatus.UPLOADING) {
+                return new CompletionStart(locked, UploadSessionResponse.from(locked));
+            }
+            if (!locked.isAllReceived()) {
+                throw new IllegalArgumentException("받지 못한 청크가 " + (locked.getChunkCount() - locked.getReceivedCount()) + "개 있습니다.");
+            }
+            if (locked.hasActiveWrites(LocalDateTime.now().minusSeconds(writeTimeoutSeconds))) {
+                throw new IllegalArgumentException("아직 기록 중인 청크가 있습니다. 잠시 후 다시 완료해주세요.");
+            }
+
+            locked.startCompleting();
+            return new CompletionStart(locked, null);
+        });
+        if (start.current() != null) {
+            return start.current();
+        }
+        UploadSession session = start.session();
+
+        // 2. 파일 확정 (형식 확인 + 해시 계산, 트랜잭션 밖), 형식이 맞지 않으면 업로드 폐기
+        StoredFile storedFile;
+        try {
+            storedFile = fileStorageService.finishPartFile(session.getPartFilePath(), session.getOriginalFileName());
+        } catch (IllegalArgumentException e) {
+            discard(uploadId, session.getPartFilePath());
+            throw e;
+        } catch (RuntimeException e) {
+            // 일시적인 오류는 다시 완료할 수 있도록 되돌림
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.findByUploadIdForUpdate(uploadId)
+                    .filter(locked -> locked.getStatus() == UploadSession.UploadStatus.COMPLETING)
+                    .ifPresent(UploadSession::cancelCompleting));
+            throw e;
+        }
+
+        // 3. 저장소로 옮기고 문서 등록 및 세션 완료 처리 (한 트랜잭션)
+        // 실패하면 받은 파일이 롤백과 함께 삭제되므로 세션도 폐기 (처음부터 다시 업로드)
+        try {
+            return transactionTemplate.execute(status -> {
+                UploadSession locked = uploadSessionRepository.findByUploadIdForUpdate(uploadId)
+                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 업로드입니다."));
+                if (locked.getStatus() != UploadSession.UploadStatus.COMPLETING) {
+                    throw new IllegalStateException("완료 처리 중인 업로드가 아닙니다. : " + locked.getStatus());
+                }
+
+                DocumentCreateRequest request = new DocumentCreateRequest(locked.getTitle(), locked.getTeam().getTeamNo(), locked.getCategory());
+                Document document = documentRegistrationService.register(memberId, request, storedFile);
+
+                locked.complete(document, document.getFilePath());
+
+                log.info("분할 업로드 완료: uploadId={}, documentNo={}", uploadId, document.getDocumentNo());
+                return UploadSessionResponse.from(locked);
+            });
+        } catch (RuntimeException e) {
+            discard(uploadId, storedFile.filePath());
+            throw e;
+        }
+    }
+
+    /* 업로드 취소 */
+    public void cancel(String uploadId, String memberId) {
+        UploadSession session = transactionTemplate.execute(status -> getOwnedSession(uploadId, memberId));
+        if (session.getStatus() != UploadSession.UploadStatus.UPLOADING) {
+            throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+        }
+        discard(uploadId, session.getPartFilePath());
+    }
+
+    /* 만료된 세션 정리 (완료되지 않았으면 .part 파일까지 삭제, 완료된 세션은 기록만 삭제) */
+    @Scheduled(fixedDelayString = "${file.upload.chunked.cleanup-interval-ms:600000}")
+    public void cleanupExpiredSessions() {
+        for (UploadSession.UploadStatus status : UploadSession.UploadStatus.values()) {
+            try {
+                List<String> partFiles = transactionTemplate.execute(tx -> {
+                    List<UploadSession> expired = uploadSessionRepository.findByStatusAndExpiresAtBefore(
+                            status, LocalDateTime.now(), PageRequest.of(0, cleanupBatchSize));
+                    uploadSessionRepository.deleteAll(expired);
+
+                    return expired.stream()
+                            .filter(session -> session.getStatus() != UploadSession.UploadStatus.COMPLETED)
+                            .map(UploadSession::getPartFilePath)
+                            .toList();
+                });
+
+                partFiles.forEach(fileStorageService::deleteFile);
+                if (!partFiles.isEmpty()) {
+                    log.info("만료된 분할 업로드 {}건 정리", partFiles.size());
+                }
+            } catch (Exception e) {
+                log.warn("분할 업로드 정리 실패: status={}", status, e);
+            }
+        }
+    }
+
+    // 업로드한 본인만 접근 가능
+    private UploadSession getOwnedSession(String uploadId, String memberId) {
+        UploadSession session = uploadSessionRepository.findByUploadId(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 업로드입니다."));
+
+        if (!session.getMember().getMemberId().equals(memberId)) {
+            throw new IllegalArgumentException("업로드한 사용자만 접근할 수 있습니다.");
+        }
+        return session;
+    }
+
+    private UploadSession getOwnedSessionForUpdate(String uploadId, String memberId) {
+        UploadSession session = uploadSessionRepository.findByUploadIdForUpdate(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 업로드입니다."));
+
+        if (!session.getMember().getMemberId().equals(memberId)) {
+            throw new IllegalArgumentException("업로드한 사용자만 접근할 수 있습니다.");
+        }
+        return session;
+    }
+
+    // 청크 기록 종료, 기록에 성공했으면 수신 기록
+    private UploadSessionResponse endWrite(String uploadId, Integer receivedIndex) {
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = uploadSessionRepository.findByUploadIdForUpdate(uploadId)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 업로드입니다."));
+
+            locked.endWrite();
+            if (receivedIndex != null) {
+                if (locked.getStatus() != UploadSession.UploadStatus.UPLOADING) {
+                    throw new IllegalArgumentException("이미 완료된 업로드입니다.");
+                }
+                locked.markReceived(receivedIndex, expiresAt());
+            }
+            return UploadSessionResponse.from(locked);
+        });
+    }
+
+    private void discard(String uploadId, String partFilePath) {
+        transactionTemplate.executeWithoutResult(status ->
+                uploadSessionRepository.findByUploadIdForUpdate(uploadId).ifPresent(uploadSessionRepository::delete));
+        fileStorageService.deleteFile(partFilePath);
+    }
+
+    // 완료 처리를 이 요청이 시작했으면 current == null
+    private record CompletionStart(UploadSession session, UploadSessionResponse current) {
+    }
+
+    private LocalDateTime expiresAt() {
+        return LocalDateTime.now().plusHours(expireHours);
+    }
+}
@@ -0,0 +1,79 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.service.file.BlobStoreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+ * 삭제된 문서 파일 정리
+ * 문서 삭제는 행을 남기는 비활성화라 복구할 수 있도록 파일도 보존 기간 동안 그대로 두고,
+ * 기간이 지나면 저장소 참조를 해제 (같은 내용을 쓰는 다른 문서가 없으면 커밋 후 파일 삭제)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentPurgeService {
+
+    private final DocumentRepository documentRepository;
+    private final BlobStoreService blobStoreService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${document.purge.retention-days:30}")
+    private long retentionDays;
+
+    @Value("${document.purge.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${document.purge.interval-ms:3600000}")
+    public void purgeDeletedFiles() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+
+        try {
+            List<Long> targets = transactionTemplate.execute(status ->
+                    documentRepository.findByIsActiveFalseAndContentHashIsNotNullAndDeletedAtBeforeOrderByDocumentNo(cutoff, PageRequest.of(0, batchSize))
+                            .stream()
+                            .map(Document::getDocumentNo)
+                            .toList());
+
+            int purged = 0;
+            for (Long documentNo : targets) {
+                if (purge(documentNo, cutoff)) {
+                    purged++;
+                }
+            }
+
+            if (purged > 0) {
+                log.info("삭제된 문서 파일 참조 해제: {}건", purged);
+            }
+        } catch (Exception e) {
+            log.warn("삭제된 문서 파일 정리 실패", e);
+        }
+    }
+
+    // 행을 잠그고 다시 확인 (그사이 복구되었거나 이미 해제했으면 건너뜀)
+    private boolean purge(Long documentNo, LocalDateTime cutoff) {
+        Boolean purged = transactionTemplate.execute(status -> {
+            Document document = documentRepository.findByIdForUpdate(documentNo).orElse(null);
+            if (document == null || document.getIsActive() || document.getContentHash() == null
+                    || document.getDeletedAt() == null || !document.getDeletedAt().isBefore(cutoff)) {
+                return false;
+            }
+
+            blobStoreService.release(document.getContentHash());
+            document.purgeFile();
+            return true;
+        });
+
+        return Boolean.TRUE.equals(purged);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.dto.document.DocumentCreateRequest;
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.member.Member;
+import com.dockflow.backend.entity.team.Team;
+import com.dockflow.backend.entity.team.TeamMember;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.repository.member.MemberRepository;
+import com.dockflow.backend.repository.team.TeamMemberRepository;
+import com.dockflow.backend.repository.team.TeamRepository;
+import com.dockflow.backend.service.file.BlobStoreService;
+import com.dockflow.backend.service.file.StoredFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * 업로드된 파일을 문서로 등록 (일반/스트리밍/분할 업로드 공통)
+ * 권한 확인 → 내용 주소 저장소에 보관(같은 내용은 참조만 추가) → 문서 저장 → 업로드 이벤트 발행 (요약 작업은 커밋 직전에 등록되고, 커밋 후 워커에 전달됨)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentRegistrationService {
+
+    private final DocumentRepository documentRepository;
+    private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlobStoreService blobStoreService;
+
+    /* 업로드 권한 확인 (팀 멤버이고 VIEWER가 아니어야 함) */
+    @Transactional(readOnly = true)
+    public TeamMember checkUploadPermission(Long teamNo, String memberId) {
+
+        // 1. 멤버 조회
+        Member member = memberRepository.findByMemberId(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+
+        // 2. 팀 조회 및 권한 확인
+        Team team = teamRepository.findById(teamNo)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 팀입니다."));
+
+        // 3. 팀 멤버인지 확인
+        TeamMember teamMember = teamMemberRepository.findByTeamAndMember(team, member)
+                .orElseThrow(() -> new IllegalArgumentException("팀 멤버만 문서를 업로드할 수 있습니다."));
+
+        // VIEWER는 업로드 불가
+        if (teamMember.getRole() == TeamMember.TeamRole.VIEWER) {
+            throw new IllegalArgumentException("조회 권한만 있는 멤버는 문서를 업로드할 수 없습니다.");
+        }
+
+        return teamMember;
+    }
+
+    /* 문서 등록 (전송 중에 권한이 바뀌었을 수 있으므로 저장 직전에 다시 확인) */
+    @Transactional
+    public Document register(String memberId, DocumentCreateRequest request, StoredFile storedFile) {
+        TeamMember uploader = checkUploadPermission(request.getTeamNo(), memberId);
+
+        String filePath = blobStoreService.store(storedFile);
+
+        Document document = Document.builder()
+                .title(request.getTitle())
+                .originalFileName(storedFile.originalFileName())
+                .filePath(filePath)
+                .fileSize(storedFile.fileSize())
+                .contentHash(storedFile.sha256())
+                .uploadUser(uploader.getMember())
+                .team(uploader.getTeam())
+                .category(request.getCategory())
+                .status(Document.DocumentStatus.PROCESSING)
+                .build();
+
+        Document savedDocument = documentRepository.save(document);
+
+        log.info("문서 업로드 완료: documentNo={}, title={}", savedDocument.getDocumentNo(), savedDocument.getTitle());
+
+        eventPublisher.publishEvent(new DocumentUploadedEvent(savedDocument.getDocumentNo()));
+
+        return savedDocument;
+    }
+}
@@ -7,25 +7,38 @@ import com.dockflow.backend.entity.document.DocumentTag;
 import com.dockflow.backend.entity.member.Member;
 import com.dockflow.backend.entity.team.Team;
 import com.dockflow.backend.entity.team.TeamMember;
+import com.dockflow.backend.etc.FileTextExtractor;
+import com.dockflow.backend.etc.FileType;
+import com.dockflow.backend.etc.FileTypeDetector;
 import com.dockflow.backend.repository.document.DocumentRepository;
 import com.dockflow.backend.repository.document.DocumentSummaryRepository;
 import com.dockflow.backend.repository.document.DocumentTagRepository;
 import com.dockflow.backend.repository.member.MemberRepository;
 import com.dockflow.backend.repository.team.TeamMemberRepository;
 import com.dockflow.backend.repository.team.TeamRepository;
+import com.dockflow.backend.service.file.DownloadFile;
 import com.dockflow.backend.service.file.FileStorageService;
+import com.dockflow.backend.service.file.MultipartStreamParser;
+import com.dockflow.backend.service.file.StoredFile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.ZipException;
 
 @Slf4j
 @Service
@@ -41,6 +54,8 @@ public class DocumentService {
     private final MemberRepository memberRepository;
     private final FileStorageService fileStorageService;
     private final DocumentSummaryService documentSummaryService;
+    private final FileTextExtractor fileTextExtractor;
+    private final DocumentRegistrationService documentRegistrationService;
 
     /* 문서 업로드 */
     @Transactional
@@ -50,46 +65,119 @@ public class DocumentService {
             String memberId
     ) {
 
-        // 1. 멤버 조회
-        Member member = memberRepository.findByMemberId(memberId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+        // 1~3. 멤버/팀 조회 및 업로드 권한 확인
+        documentRegistrationService.checkUploadPermission(request.getTeamNo(), memberId);
 
-        // 2. 팀 조회 및 권한 확인
-        Team team = teamRepository.findById(request.getTeamNo())
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 팀입니다."));
+        // 4. 파일 형식 확인 (확장자가 아니라 내용으로 판별, 지원하지 않거나 확장자가 다르면 저장 전에 거부)
+        checkFileType(file);
 
-        // 3. 팀 멤버인지 확인
-        TeamMember teamMember = teamMemberRepository.findByTeamAndMember(team, member)
-                .orElseThrow(() -> new IllegalArgumentException("팀 멤버만 문서를 업로드할 수 있습니다."));
+        // 5. 파일 수신 (크기/해시 계산)
+        StoredFile storedFile = fileStorageService.storeFile(file);
 
-        // VIEWER는 업로드 불가
-        if (teamMember.getRole() == TeamMember.TeamRole.VIEWER) {
-            throw new IllegalArgumentException("조회 권한만 있는 멤버는 문서를 업로드할 수 없습니다.");
+        // 6. 저장소 보관, 문서 엔티티 생성 및 저장, 업로드 이벤트 발행
+        try {
+            Document savedDocument = documentRegistrationService.register(memberId, request, storedFile);
+            return DocumentResponse.from(savedDocument);
+        } catch (RuntimeException e) {
+            fileStorageService.deleteFile(storedFile.filePath());
+            throw e;
         }
+    }
 
-        // 4. 파일 저장
-        String filePath = fileStorageService.storeFile(file, team.getTeamNo());
-
-        // 5. 문서 엔티티 생성 및 저장
-        Document document = Document.builder()
-                .title(request.getTitle())
-                .originalFileName(file.getOriginalFilename())
-                .filePath(filePath)
-                .fileSize(file.getSize())
-                .uploadUser(member)
-                .team(team)
-                .category(request.getCategory())
-                .status(Document.DocumentStatus.PROCESSING)
-                .build();
+    /*
+     * 문서 스트리밍 업로드 (multipart 본문을 컨테이너 임시 파일 없이 읽는 대로 저장소와 같은 디스크에 기록)
+     * 입력 필드(teamNo, title, category)가 파일보다 먼저 와야 권한을 확인한 뒤 파일을 받을 수 있음
+     * 전송 중에는 DB 커넥션을 잡지 않도록 권한 확인과 등록만 각각 짧은 트랜잭션으로 실행
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentResponse uploadDocumentStream(
+            InputStream body,
+            String contentType,
+            long contentLength,
+            String memberId
+    ) throws IOException {
+
+        fileStorageService.checkRequestSize(contentLength);
+
+        MultipartStreamParser parser = new MultipartStreamParser(body, MultipartStreamParser.boundary(contentType));
+        Map<String, String> fields = new HashMap<>();
+        StoredFile storedFile = null;
+
+        try {
+            MultipartStreamParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+                if (!part.isFile()) {
+                    fields.put(part.getName(), part.readString());
+                    continue;
+                }
+                if (storedFile != null || !"file".equals(part.getName())) {
+                    throw new IllegalArgumentException("파일은 하나만 업로드할 수 있습니다.");
+                }
+
+                // 1~3. 파일을 받기 전에 입력값과 업로드 권한 확인
+                DocumentCreateRequest request = toCreateRequest(fields);
+                documentRegistrationService.checkUploadPermission(request.getTeamNo(), memberId);
+
+                // 4~5. 형식 확인(앞부분) + 저장 + 크기/해시 계산을 한 번에
+                storedFile = fileStorageService.storeStream(part.getInputStream(), part.getFileName());
+            }
+
+            if (storedFile == null) {
+                throw new IllegalArgumentException("파일을 선택해주세요.");
+            }
+
+            // 6. 저장소 보관, 문서 엔티티 생성 및 저장, 업로드 이벤트 발행
+            Document savedDocument = documentRegistrationService.register(memberId, toCreateRequest(fields), storedFile);
+
+            return DocumentResponse.from(savedDocument);
+        } catch (IOException | RuntimeException e) {
+            if (storedFile != null) {
+                fileStorageService.deleteFile(storedFile.filePath());
+            }
+            throw e;
+        }
+    }
+
+    // 스트리밍 업로드 입력 필드 검증 (DocumentCreateRequest의 제약과 같은 메시지)
+    private static DocumentCreateRequest toCreateRequest(Map<String, String> fields) {
+        String title = fields.get("title");
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("제목은 필수입니다.");
+        }
+        if (title.length() > 200) {
+            throw new IllegalArgumentException("제목은 200자를 초과할 수 없습니다.");
+        }
 
-        Document savedDocument = documentRepository.save(document);
+        Long teamNo;
+        try {
+            teamNo = Long.valueOf(fields.get("teamNo"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("팀을 선택해주세요.");
+        }
 
-        log.info("문서 업로드 완료: documentNo={}, title={}", savedDocument.getDocumentNo(), savedDocument.getTitle());
+        Document.DocumentCategory category;
+        try {
+            category = Document.DocumentCategory.valueOf(fields.get("category"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("카테고리를 선택해주세요.");
+        }
 
-        // 비동기로 AI 요약 실행
-        documentSummaryService.summarizeDocumentAsync(savedDocument.getDocumentNo());
+        return new DocumentCreateRequest(title, teamNo, category);
+    }
+
+    private void checkFileType(MultipartFile file) {
+        FileType fileType;
+        try (InputStream in = file.getInputStream()) {
+            fileType = FileTypeDetector.detect(in, file.getOriginalFilename());
+        } catch (ZipException e) {
+            throw new IllegalArgumentException("파일 내용을 확인할 수 없습니다. : " + file.getOriginalFilename(), e);
+        } catch (IOException e) {
+            throw new RuntimeException("파일을 읽을 수 없습니다.", e);
+        }
 
-        return DocumentResponse.from(savedDocument);
+        if (!fileTextExtractor.supports(fileType)) {
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. : " + file.getOriginalFilename());
+        }
     }
 
     /* 팀별 문서 목록 조회 */
@@ -168,6 +256,7 @@ public class DocumentService {
                 .aiModelVersion(summaryOpt.map(s -> s.getAiModelVersion()).orElse(null))
                 .summaryCreatedAt(summaryOpt.map(s -> s.getCreatedAt()).orElse(null))
                 .summaryCount(summaryOpt.map(s -> s.getSummaryCount()).orElse(0))
+                .provisionalSummary(summaryOpt.map(s -> s.getIsProvisional()).orElse(false))
                 .tags(tags)
                 .canResummarize(summaryOpt.map(s -> s.canResummarize()).orElse(false))
                 .remainingResummaryCount(documentSummaryService.getRemainingResummaryCount(documentNo))
@@ -209,8 +298,10 @@ public class DocumentService {
         // 1. 회원 조회
         Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
 
-        // 2. 문서 조회
-        Document document = documentRepository.findByDocumentNoAndIsActiveTrue(documentNo).orElseThrow(() -> new IllegalArgumentException("존재하지 않는 문서입니다."));
+        // 2. 문서 조회 (저장소 이전 작업과 겹치지 않도록 행 잠금)
+        Document document = documentRepository.findByIdForUpdate(documentNo)
+                .filter(Document::getIsActive)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 문서입니다."));
 
         // 3. 권한 확인 (OWNER, ADMIN, 작성자만 삭제 가능)
         TeamMember teamMember = teamMemberRepository.findByTeamAndMember(document.getTeam(), member).orElseThrow(() -> new IllegalArgumentException("팀 멤버만 문서를 삭제할 수 있습니다."));
@@ -222,12 +313,27 @@ public class DocumentService {
             throw new IllegalArgumentException("문서 삭제 권한이 없습니다.");
         }
 
-        // 4. 문서 비활성화
+        // 4. 문서 비활성화 (행과 파일은 남겨 두고, 보존 기간이 지나면 DocumentPurgeService가 파일 참조 해제)
         document.deactivate();
 
         log.info("문서 삭제 완료: documentNo = {}, title = {}", documentNo, document.getTitle());
     }
 
+    /* 문서 파일 다운로드 정보 (팀 멤버만) */
+    public DownloadFile getDocumentFile(Long documentNo, String memberId) {
+
+        // 1. 회원 조회
+        Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
+
+        // 2. 문서 조회
+        Document document = documentRepository.findByDocumentNoAndIsActiveTrue(documentNo).orElseThrow(() -> new IllegalArgumentException("존재하지 않는 문서입니다."));
+
+        // 3. 팀 멤버 권한 확인
+        teamMemberRepository.findByTeamAndMember(document.getTeam(), member).orElseThrow(() -> new IllegalArgumentException("팀 멤버만 문서를 다운로드할 수 있습니다."));
+
+        return new DownloadFile(Paths.get(document.getFilePath()), document.getOriginalFileName(), document.getContentHash());
+    }
+
     /* 관련 문서 추천 (같은 팀, 같은 태그 기반) */
     public List<RelatedDocumentDTO> getRelatedDocuments(Long documentNo, int limit) {
 
@@ -1,98 +1,250 @@
 package com.dockflow.backend.service.document;
 
 import com.dockflow.backend.claude.ClaudeApiService;
+import com.dockflow.backend.claude.ClaudeModelRouter;
+import com.dockflow.backend.claude.TokenEstimator;
+import com.dockflow.backend.controller.config.AsyncConfig;
 import com.dockflow.backend.entity.document.Document;
 import com.dockflow.backend.entity.document.DocumentSummary;
 import com.dockflow.backend.entity.document.DocumentTag;
+import com.dockflow.backend.etc.ExtractiveSummarizer;
 import com.dockflow.backend.etc.FileTextExtractor;
+import com.dockflow.backend.etc.FileType;
+import com.dockflow.backend.etc.TextChunker;
+import com.dockflow.backend.etc.TextCompressor;
 import com.dockflow.backend.repository.document.DocumentRepository;
 import com.dockflow.backend.repository.document.DocumentSummaryRepository;
 import com.dockflow.backend.repository.document.DocumentTagRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentSummaryService {
 
+    // 임시 요약의 모델 표시
+    private static final String PROVISIONAL_MODEL = "local-extractive";
+
     private final DocumentRepository documentRepository;
     private final DocumentSummaryRepository summaryRepository;
     private final DocumentTagRepository tagRepository;
     private final ClaudeApiService claudeApiService;
     private final FileTextExtractor fileTextExtractor;
+    private final SummaryCacheService summaryCacheService;
+    private final DocumentTextExtractionService documentTextExtractionService;
+    private final SummaryJobService summaryJobService;
+
+    // Claude 응답 이후 저장 단계 (AI 스레드 풀은 포화되면 거절하므로 받은 응답을 잃지 않도록 별도 풀)
+    @Qualifier(AsyncConfig.COMPLETION_EXECUTOR)
+    private final ThreadPoolTaskExecutor completionExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ClaudeModelRouter modelRouter;
+
+    @Value("${summary.section.max-tokens:6000}")
+    private int sectionMaxTokens;
+
+    @Value("${summary.section.max-count:16}")
+    private int maxSections;
+
+    @Value("${summary.max-input-chars:200000}")
+    private int maxInputChars;
+
+    // 수동 재요약 대기 상한 (요청 스레드가 끝없이 묶이지 않도록)
+    @Value("${summary.resummarize.timeout-seconds:300}")
+    private long resummarizeTimeoutSeconds;
+
+    @Value("${summary.provisional.enabled:true}")
+    private boolean provisionalEnabled;
+
+    @Value("${summary.provisional.sentences:3}")
+    private int provisionalSentences;
+
+    @Value("${summary.provisional.tags:5}")
+    private int provisionalTags;
 
-    @Value("${claude.api.model}")
-    private String aiModelVersion;
+    @Value("${summary.compression.enabled:true}")
+    private boolean compressionEnabled;
 
-    /* 문서 업로드시 자동 요약 (비동기) */
-    @Async
-    @Transactional
-    public void summarizeDocumentAsync(Long documentNo) {
+    // 압축 후 입력 토큰 상한 (넘으면 문장 단위로 골라냄), 0이면 구간별 요약이 처리할 수 있는 최대치 (구간 토큰 × 최대 구간 수)
+    @Value("${summary.compression.max-tokens:0}")
+    private int compressionMaxTokens;
+
+    /* 문서 요약 (요약 작업 워커에서 호출, 실패하면 future가 예외로 완료되어 작업 재시도, 성공하면 저장과 함께 작업 완료) */
+    public CompletableFuture<Void> summarizeDocument(SummaryJobService.ClaimedJob job) {
+        Long documentNo = job.documentNo();
 
         log.info("문서 요약 시작: documentNo={}", documentNo);
 
-        try {
+        // 1. 문서 정보 조회 (짧은 트랜잭션, 이후 커넥션 반납)
+        SummarySource source = transactionTemplate.execute(status -> {
             Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+            return SummarySource.from(document);
+        });
+
+        // 2. 텍스트 추출 (추출 스레드 풀) → 3. 로컬 추출 요약/태그를 임시로 저장
+        // → 4. 요약 캐시 조회, 없으면 Claude API 비동기 호출 (응답 대기 중 스레드 미점유)
+        // → 5. 요약/태그 저장, 상태 업데이트, 작업 완료 (저장용 스레드 풀, 짧은 트랜잭션)
+        return loadTextAsync(source)
+                .thenApply(text -> {
+                    saveProvisionalSummary(documentNo, text);
+                    return text;
+                })
+                .thenCompose(text -> summarizeWithCache(text, source, ClaudeModelRouter.Priority.BACKGROUND))
+                .thenAcceptAsync(result -> {
+                    // 작업 행을 먼저 잠그고 리스 확인 (리스가 만료되어 다른 워커가 다시 점유했으면 늦은 결과로 덮어쓰지 않음)
+                    Boolean saved = transactionTemplate.execute(status -> {
+                        if (!summaryJobService.completeIfLeased(job)) {
+                            return false;
+                        }
+                        saveSummary(documentNo, result);
+                        return true;
+                    });
+
+                    if (Boolean.TRUE.equals(saved)) {
+                        log.info("문서 요약 완료: documentNo={}", documentNo);
+                    } else {
+                        log.warn("리스를 잃어 요약 결과를 저장하지 않음: jobNo={}, documentNo={}", job.jobNo(), documentNo);
+                    }
+                }, completionExecutor);
+    }
 
-            // 1. 파일에서 텍스트 추출
-            String text = fileTextExtractor.extractText(document.getFilePath());
+    /* 같은 본문의 요약이 캐시에 있으면 재사용, 없으면 Claude API 호출 후 캐시에 저장 (캐시 키는 선택된 모델 기준) */
+    private CompletableFuture<ClaudeApiService.SummaryResult> summarizeWithCache(String text, SummarySource source, ClaudeModelRouter.Priority priority) {
+        String model = modelRouter.route(TokenEstimator.estimate(text), priority);
+        String cacheKey = summaryCacheService.createKey(text, model);
+
+        return summaryCacheService.get(cacheKey)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> summarizeText(text, source, model)
+                        .thenApplyAsync(result -> {
+                            putCache(cacheKey, result);
+                            return result;
+                        }, completionExecutor));
+    }
 
-            // 2. 텍스트 길이 제한 (약 15,000자)
-            text = fileTextExtractor.limitTextLength(text, 15000);
+    /* 본문 요약 (압축 후 토큰 예산 안이면 한 번에, 넘으면 구간별로 나눠 병렬 요약 후 병합) */
+    private CompletableFuture<ClaudeApiService.SummaryResult> summarizeText(String text, SummarySource source, String model) {
+        // 스캔본/이미지뿐인 PDF 등 텍스트가 없으면 재시도해도 소용없으므로 영구 실패
+        if (text.isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("문서에서 추출할 수 있는 텍스트가 없습니다."));
+        }
 
-            // 3. Claude API 호출
-            ClaudeApiService.SummaryResult result = claudeApiService.summarizeDocument(text, document.getTitle());
+        List<String> sections = TextChunker.split(compress(text, source.fileType()), sectionMaxTokens);
+        if (sections.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("문서에서 요약할 내용을 찾지 못했습니다."));
+        }
 
-            // 4. 요약 저장
-            DocumentSummary summary = DocumentSummary.builder()
-                    .document(document)
-                    .summaryText(result.summary())
-                    .aiModelVersion(aiModelVersion)
-                    .summaryCount(1)
-                    .lastSummarizedAt(LocalDateTime.now())
-                    .build();
-            summaryRepository.save(summary);
+        if (sections.size() > maxSections) {
+            log.warn("구간 수가 너무 많습니다. {}개 중 앞의 {}개만 요약합니다.", sections.size(), maxSections);
+            sections = sections.subList(0, maxSections);
+        }
 
-            // 5. 태그 저장
-            for (String tagName : result.tags()) {
-                DocumentTag tag = DocumentTag.builder()
-                        .document(document)
-                        .tagName(tagName)
-                        .build();
-                tagRepository.save(tag);
-            }
+        return claudeApiService.summarizeSectionsAsync(sections, source.title(), model);
+    }
 
-            // 6. 문서 상태 업데이트
-            document.updateStatus(Document.DocumentStatus.COMPLETED);
-            documentRepository.save(document);
+    // 머리글/바닥글/중복 줄 제거, 예산을 넘으면 중요한 문장만 남김 (입력 토큰 절감)
+    private String compress(String text, FileType sourceType) {
+        if (!compressionEnabled) {
+            return text;
+        }
 
-            log.info("문서 요약 완료: documentNo={}", documentNo);
+        // 구간으로 나누기 전에 문서 전체 기준으로 골라냄 (앞 구간만 남기고 자르는 대신 문서 전체에서 중요한 문장을 남김)
+        int maxTokens = compressionMaxTokens > 0 ? compressionMaxTokens : sectionMaxTokens * maxSections;
+        String compressed = TextCompressor.compress(text, maxTokens, sourceType);
+        log.info("요약 입력 압축: {}토큰 → {}토큰", TokenEstimator.estimate(text), TokenEstimator.estimate(compressed));
+        return compressed;
+    }
 
+    // 캐시 저장 실패는 요약 결과에 영향을 주지 않음 (동시에 같은 키를 저장한 경우 등)
+    private void putCache(String cacheKey, ClaudeApiService.SummaryResult result) {
+        try {
+            summaryCacheService.put(cacheKey, result.model(), result);
         } catch (Exception e) {
-            log.error("문서 요약 실패: documentNo={}", documentNo, e);
-
-            documentRepository.findById(documentNo).ifPresent(doc -> {
-                doc.updateStatus(Document.DocumentStatus.FAILED);
-                documentRepository.save(doc);
-            });
+            log.warn("요약 캐시 저장 실패: key={}", cacheKey, e);
         }
     }
 
     /* 수동 재요약 */
-    @Transactional
     public void resummarizeDocument(Long documentNo) {
 
         log.info("문서 재요약 시작: documentNo={}", documentNo);
 
-        Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+        // 1. 문서 조회 및 재요약 가능 여부 체크 (짧은 트랜잭션)
+        SummarySource source = transactionTemplate.execute(status -> {
+            Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+            checkResummarizable(document);
+            return SummarySource.from(document);
+        });
 
+        ClaudeApiService.SummaryResult result;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(resummarizeTimeoutSeconds);
+        try {
+            // 2. 저장된 추출 텍스트 읽기, 없으면 파일에서 추출 (트랜잭션 밖)
+            String text = await(loadTextAsync(source), deadline);
+
+            // 3. Claude API 호출 (트랜잭션 밖, 사용자가 기다리는 작업이므로 큰 모델, 새 요약을 원하는 것이므로 캐시는 조회하지 않고 갱신만 함)
+            String model = modelRouter.route(TokenEstimator.estimate(text), ClaudeModelRouter.Priority.INTERACTIVE);
+            result = await(summarizeText(text, source, model), deadline);
+            putCache(summaryCacheService.createKey(text, model), result);
+
+        } catch (ExecutionException e) {
+            // 텍스트 없음 등 사용자에게 알릴 오류는 그대로
+            if (e.getCause() instanceof IllegalArgumentException illegalArgument) {
+                throw illegalArgument;
+            }
+            log.error("문서 재요약 실패: documentNo={}", documentNo, e.getCause());
+            throw new RuntimeException("재요약에 실패했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            log.error("문서 재요약 시간 초과: documentNo={}, timeout={}s", documentNo, resummarizeTimeoutSeconds);
+            throw new RuntimeException("재요약 시간이 초과되었습니다.", e);
+        } catch (Exception e) {
+            log.error("문서 재요약 실패: documentNo={}", documentNo, e);
+            throw new RuntimeException("재요약에 실패했습니다.", e);
+        }
+
+        // 4. 기존 요약/태그 교체 (짧은 트랜잭션, AI 호출 동안 다른 재요약이 횟수를 썼을 수 있어 다시 체크)
+        transactionTemplate.executeWithoutResult(status -> {
+            Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+            DocumentSummary existingSummary = checkResummarizable(document);
+
+            // 임시 요약 상태면 AI 요약이 처음 들어가는 것이므로 횟수를 쓰지 않음
+            if (existingSummary.getIsProvisional()) {
+                existingSummary.overwrite(result.summary(), result.model());
+            } else {
+                existingSummary.updateSummary(result.summary(), result.model());
+            }
+            replaceTags(document, result);
+        });
+
+        log.info("문서 재요약 완료: documentNo={}", documentNo);
+    }
+
+    // 남은 시간만큼만 대기 (시간 초과면 결과를 기다리지 않도록 취소)
+    private static <T> T await(CompletableFuture<T> future, long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw e;
+        }
+    }
+
+    private DocumentSummary checkResummarizable(Document document) {
         DocumentSummary existingSummary = summaryRepository.findByDocument(document).orElseThrow(() -> new IllegalArgumentException("요약 정보를 찾을 수 없습니다."));
 
         // 재요약 가능 여부 체크
@@ -100,38 +252,90 @@ public class DocumentSummaryService {
             throw new IllegalArgumentException("이번 달 재요약 횟수를 모두 사용했습니다. (월 3회)");
         }
 
-        try {
-            // 1. 파일에서 텍스트 추출
-            String text = fileTextExtractor.extractText(document.getFilePath());
-            text = fileTextExtractor.limitTextLength(text, 15000);
+        return existingSummary;
+    }
 
-            // 2. Claude API 호출
-            ClaudeApiService.SummaryResult result = claudeApiService.summarizeDocument(text, document.getTitle());
+    /* 요약 저장 (트랜잭션 안에서 호출, 임시 요약이 있으면 교체) */
+    private void saveSummary(Long documentNo, ClaudeApiService.SummaryResult result) {
+        Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
 
-            // 3. 기존 요약 업데이트
-            existingSummary.updateSummary(result.summary(), aiModelVersion);
-            summaryRepository.save(existingSummary);
+        summaryRepository.findByDocument(document).ifPresentOrElse(
+                existing -> existing.overwrite(result.summary(), result.model()),
+                () -> summaryRepository.save(DocumentSummary.builder()
+                        .document(document)
+                        .summaryText(result.summary())
+                        .aiModelVersion(result.model())
+                        .summaryCount(1)
+                        .lastSummarizedAt(LocalDateTime.now())
+                        .build())
+        );
 
-            // 4. 기존 태그 삭제 후 새 태그 저장
-            tagRepository.deleteByDocument(document);
-            tagRepository.flush();
+        replaceTags(document, result);
 
-            for (String tagName : result.tags()) {
-                DocumentTag tag = DocumentTag.builder()
-                        .document(document)
-                        .tagName(tagName)
-                        .build();
-                tagRepository.save(tag);
+        document.updateStatus(Document.DocumentStatus.COMPLETED);
+    }
+
+    /*
+     * 임시 요약 저장 (로컬 추출 요약 + 키워드 태그)
+     * AI 응답 전이나 API 장애 중에도 상세 화면/관련 문서 추천에 쓸 수 있도록 하고, AI 요약이 나오면 교체된다
+     * 이미 요약이 있으면(작업 재시도 등) 건드리지 않음
+     */
+    private void saveProvisionalSummary(Long documentNo, String text) {
+        if (!provisionalEnabled) {
+            return;
+        }
+
+        try {
+            String summaryText = ExtractiveSummarizer.summarize(text, provisionalSentences);
+            if (summaryText.isEmpty()) {
+                return;
             }
+            ClaudeApiService.SummaryResult provisional = new ClaudeApiService.SummaryResult(
+                    summaryText, ExtractiveSummarizer.keywords(text, provisionalTags), PROVISIONAL_MODEL);
 
-            log.info("문서 재요약 완료: documentNo={}", documentNo);
+            transactionTemplate.executeWithoutResult(status -> {
+                Document document = documentRepository.findById(documentNo).orElseThrow(() -> new IllegalArgumentException("문서를 찾을 수 없습니다."));
+                if (summaryRepository.findByDocument(document).isPresent()) {
+                    return;
+                }
 
+                summaryRepository.save(DocumentSummary.builder()
+                        .document(document)
+                        .summaryText(provisional.summary())
+                        .aiModelVersion(provisional.model())
+                        .isProvisional(true)
+                        .build());
+                replaceTags(document, provisional);
+            });
+
+            log.info("임시 요약 저장: documentNo={}", documentNo);
         } catch (Exception e) {
-            log.error("문서 재요약 실패: documentNo={}", documentNo, e);
-            throw new RuntimeException("재요약에 실패했습니다.", e);
+            // 임시 요약 실패는 AI 요약에 영향을 주지 않음
+            log.warn("임시 요약 저장 실패: documentNo={}", documentNo, e);
         }
     }
 
+    /* 기존 태그 삭제 후 새 태그 저장 */
+    private void replaceTags(Document document, ClaudeApiService.SummaryResult result) {
+        tagRepository.deleteByDocument(document);
+        tagRepository.flush();
+
+        for (String tagName : result.tags()) {
+            DocumentTag tag = DocumentTag.builder()
+                    .document(document)
+                    .tagName(tagName)
+                    .build();
+            tagRepository.save(tag);
+        }
+    }
+
+    /* 문서 텍스트 준비 + 요약 입력 상한 적용 (업로드 시 저장한 전체 텍스트를 읽고, 없으면 추출 스레드 풀에서 추출 후 저장) */
+    private CompletableFuture<String> loadTextAsync(SummarySource source) {
+        return documentTextExtractionService.loadAsync(source.documentNo(), source.filePath(), source.contentHash())
+                // 전체 길이 상한 (구간별 요약으로 처리할 수 있는 최대치)
+                .thenApply(text -> fileTextExtractor.limitTextLength(text, maxInputChars));
+    }
+
     /* 재요약 가능 여부 조회 */
     @Transactional(readOnly = true)
     public boolean canResummarize(Long documentNo) {
@@ -159,4 +363,17 @@ public class DocumentSummaryService {
                 })
                 .orElse(0);
     }
+
+    /* 요약에 필요한 문서 정보 (트랜잭션 밖으로 엔티티를 넘기지 않기 위함) */
+    record SummarySource(Long documentNo, String title, String filePath, String contentHash) {
+
+        static SummarySource from(Document document) {
+            return new SummarySource(document.getDocumentNo(), document.getTitle(), document.getFilePath(), document.getContentHash());
+        }
+
+        // 저장 파일명 확장자 기준 (저장 시 내용으로 확인한 형식)
+        FileType fileType() {
+            return FileType.fromFileName(filePath).orElse(null);
+        }
+    }
 }
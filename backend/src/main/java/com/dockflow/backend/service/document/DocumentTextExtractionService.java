@@ -0,0 +1,131 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.controller.config.AsyncConfig;
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.etc.FileTextExtractor;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 문서 전체 텍스트 추출
+ * 업로드 커밋 후 추출 스레드 풀에서 문서 끝까지 추출해 저장하고, 요약 등 텍스트가 필요한 쪽은 저장된 텍스트를 읽는다
+ * 같은 문서의 추출이 진행 중이면 (업로드 직후 요약 작업 등) 새로 추출하지 않고 그 결과를 기다림
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentTextExtractionService {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentTextService documentTextService;
+    private final FileTextExtractor fileTextExtractor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Qualifier(AsyncConfig.EXTRACTION_EXECUTOR)
+    private final ThreadPoolTaskExecutor extractionExecutor;
+
+    // 문서 번호 → 진행 중인 추출
+    private final Map<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    // 저장 텍스트 상한 (압축 후에도 DB 패킷 한도 안에 들어가도록, 요약 입력 상한과는 별개)
+    @Value("${document.text.max-chars:20000000}")
+    private int maxStoredChars;
+
+    /* 업로드 커밋 후 전체 텍스트 추출 (실패해도 요약 작업이 다시 시도) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        try {
+            Document document = transactionTemplate.execute(status -> documentRepository.findById(event.documentNo()).orElse(null));
+            if (document == null) {
+                return;
+            }
+
+            loadAsync(document.getDocumentNo(), document.getFilePath(), document.getContentHash())
+                    .exceptionally(e -> {
+                        log.warn("업로드 후 텍스트 추출 실패: documentNo={}", event.documentNo(), e);
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.warn("업로드 후 텍스트 추출 요청 실패: documentNo={}", event.documentNo(), e);
+        }
+    }
+
+    /* 문서 전체 텍스트 (저장된 텍스트 → 같은 내용 파일의 다른 문서 텍스트 → 원본 추출 후 저장 순) */
+    public CompletableFuture<String> loadAsync(Long documentNo, String filePath, String contentHash) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(documentNo, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            CompletableFuture.supplyAsync(() -> load(documentNo, filePath, contentHash), extractionExecutor)
+                    .whenComplete((text, error) -> {
+                        inFlight.remove(documentNo, created);
+                        if (error != null) {
+                            created.completeExceptionally(error);
+                        } else {
+                            created.complete(text);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inFlight.remove(documentNo, created);
+            created.completeExceptionally(e);
+        }
+
+        return created;
+    }
+
+    private String load(Long documentNo, String filePath, String contentHash) {
+        return documentTextService.load(documentNo)
+                .or(() -> copyFromSameContent(documentNo, contentHash))
+                .orElseGet(() -> extractAndStore(documentNo, filePath));
+    }
+
+    // 같은 파일이 다른 팀/문서로 이미 올라와 추출된 적이 있으면 파싱 생략 (요약도 같은 텍스트라 요약 캐시에서 재사용됨)
+    private Optional<String> copyFromSameContent(Long documentNo, String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return documentTextService.copyFromSameContent(documentNo, contentHash);
+        } catch (Exception e) {
+            log.warn("같은 내용의 추출 텍스트 재사용 실패: documentNo={}", documentNo, e);
+            return Optional.empty();
+        }
+    }
+
+    private String extractAndStore(Long documentNo, String filePath) {
+        String text;
+        try {
+            text = fileTextExtractor.extractText(filePath, maxStoredChars);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+
+        // 저장 실패는 호출한 쪽에 영향을 주지 않음 (다음에 다시 추출)
+        try {
+            documentTextService.save(documentNo, text);
+        } catch (Exception e) {
+            log.warn("추출 텍스트 저장 실패: documentNo={}", documentNo, e);
+        }
+
+        return text;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.entity.document.DocumentText;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.repository.document.DocumentTextRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * 추출 텍스트 저장소
+ * 업로드 시 추출한 문서 전체 텍스트를 압축해서 보관하고, 요약/재요약/검색/미리보기에서는 원본 파일을 다시 파싱하지 않고 이걸 읽는다
+ * (요약 입력 상한 같은 용도별 제한은 읽는 쪽에서 적용)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentTextService {
+
+    private final DocumentTextRepository documentTextRepository;
+    private final DocumentRepository documentRepository;
+
+    /* 추출 텍스트 저장 (이미 있으면 교체) */
+    @Transactional
+    public void save(Long documentNo, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = compress(bytes);
+
+        upsert(documentNo, compressed, sha256(bytes), text.length());
+
+        log.info("추출 텍스트 저장: documentNo={}, {}자, {}B → {}B", documentNo, text.length(), bytes.length, compressed.length);
+    }
+
+    /* 같은 내용(SHA-256)의 파일을 가진 다른 문서에서 추출 텍스트 복사 (없으면 empty → 원본에서 추출) */
+    @Transactional
+    public Optional<String> copyFromSameContent(Long documentNo, String contentHash) {
+        return documentTextRepository.findFirstByDocumentContentHashAndDocumentDocumentNoNotAndIsCompleteTrue(contentHash, documentNo)
+                .flatMap(source -> {
+                    byte[] bytes = decompress(source.getCompressedText());
+                    if (!sha256(bytes).equals(source.getChecksum())) {
+                        return Optional.empty();
+                    }
+
+                    // 압축된 바이트를 그대로 복사 (다시 압축하지 않음)
+                    upsert(documentNo, source.getCompressedText(), source.getChecksum(), source.getCharLength());
+
+                    log.info("같은 내용의 추출 텍스트 재사용: documentNo={} ← documentNo={}", documentNo, source.getDocument().getDocumentNo());
+                    return Optional.of(new String(bytes, StandardCharsets.UTF_8));
+                });
+    }
+
+    // 이미 있으면 교체
+    private void upsert(Long documentNo, byte[] compressed, String checksum, int charLength) {
+        documentTextRepository.findByDocumentDocumentNo(documentNo)
+                .ifPresentOrElse(
+                        existing -> existing.updateText(compressed, checksum, charLength),
+                        () -> documentTextRepository.save(DocumentText.builder()
+                                .document(documentRepository.getReferenceById(documentNo))
+                                .compressedText(compressed)
+                                .checksum(checksum)
+                                .charLength(charLength)
+                                .isComplete(true)
+                                .build())
+                );
+    }
+
+    /* 추출 텍스트 조회 (없거나 일부만 저장됐거나 체크섬이 맞지 않으면 empty → 원본에서 다시 추출) */
+    @Transactional(readOnly = true)
+    public Optional<String> load(Long documentNo) {
+        return documentTextRepository.findByDocumentDocumentNo(documentNo)
+                .filter(documentText -> Boolean.TRUE.equals(documentText.getIsComplete()))
+                .flatMap(documentText -> {
+                    byte[] bytes = decompress(documentText.getCompressedText());
+
+                    if (!sha256(bytes).equals(documentText.getChecksum())) {
+                        log.warn("추출 텍스트 체크섬 불일치: documentNo={}", documentNo);
+                        return Optional.empty();
+                    }
+
+                    return Optional.of(new String(bytes, StandardCharsets.UTF_8));
+                });
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 3));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.dockflow.backend.service.document;
+
+/* 문서 업로드 이벤트 (업로드 트랜잭션 안에서 발행) */
+public record DocumentUploadedEvent(Long documentNo) {
+}
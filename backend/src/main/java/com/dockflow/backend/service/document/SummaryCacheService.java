@@ -0,0 +1,144 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.claude.ClaudeApiService;
+import com.dockflow.backend.entity.document.SummaryCache;
+import com.dockflow.backend.repository.document.SummaryCacheRepository;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * 요약 결과 캐시 (같은 본문이 다시 올라오면 Claude API를 호출하지 않음)
+ * DB 테이블이 원본이고, 앞단에 크기 제한이 있는 메모리 LRU를 둔다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SummaryCacheService {
+
+    private final SummaryCacheRepository summaryCacheRepository;
+    private final MeterRegistry meterRegistry;
+    private final Gson gson = new Gson();
+
+    @Value("${summary.cache.memory-entries:500}")
+    private int memoryEntries;
+
+    private Map<String, ClaudeApiService.SummaryResult> memoryCache;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void init() {
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClaudeApiService.SummaryResult> eldest) {
+                return size() > memoryEntries;
+            }
+        });
+
+        hitCounter = Counter.builder("docflow.summary.cache").tag("result", "hit").register(meterRegistry);
+        missCounter = Counter.builder("docflow.summary.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /* 캐시 키 생성 (공백 정규화한 본문 + 모델 + 프롬프트 버전의 SHA-256) */
+    public String createKey(String text, String model) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(ClaudeApiService.PROMPT_VERSION.getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* 캐시 조회 (메모리 → DB) */
+    @Transactional(readOnly = true)
+    public Optional<ClaudeApiService.SummaryResult> get(String cacheKey) {
+        ClaudeApiService.SummaryResult cached = memoryCache.get(cacheKey);
+
+        if (cached == null) {
+            cached = summaryCacheRepository.findById(cacheKey)
+                    .map(this::toResult)
+                    .orElse(null);
+
+            if (cached != null) {
+                memoryCache.put(cacheKey, cached);
+            }
+        }
+
+        if (cached == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        log.info("요약 캐시 적중: key={}", cacheKey);
+        return Optional.of(cached);
+    }
+
+    /* 캐시 저장 (같은 키가 있으면 내용만 갱신, 재요약 결과 반영) */
+    @Transactional
+    public void put(String cacheKey, String model, ClaudeApiService.SummaryResult result) {
+        String tags = gson.toJson(result.tags());
+
+        summaryCacheRepository.findById(cacheKey).ifPresentOrElse(
+                cache -> cache.update(result.summary(), tags, model, ClaudeApiService.PROMPT_VERSION),
+                () -> summaryCacheRepository.save(SummaryCache.builder()
+                        .cacheKey(cacheKey)
+                        .summaryText(result.summary())
+                        .tags(tags)
+                        .aiModelVersion(model)
+                        .promptVersion(ClaudeApiService.PROMPT_VERSION)
+                        .build()));
+
+        memoryCache.put(cacheKey, result);
+    }
+
+    private ClaudeApiService.SummaryResult toResult(SummaryCache cache) {
+        List<String> tags = gson.fromJson(cache.getTags(), new TypeToken<List<String>>() {}.getType());
+        return new ClaudeApiService.SummaryResult(cache.getSummaryText(), tags, cache.getAiModelVersion());
+    }
+
+    // 공백 차이로 키가 달라지지 않도록 연속 공백을 하나로
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c);
+        }
+
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.claude.CircuitOpenException;
+import com.dockflow.backend.claude.ClaudeApiException;
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.document.SummaryJob;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.repository.document.SummaryJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SummaryJobService {
+
+    private final SummaryJobRepository summaryJobRepository;
+    private final DocumentRepository documentRepository;
+
+    @Value("${summary.job.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${summary.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${summary.job.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    @Value("${summary.job.max-backoff-seconds:1800}")
+    private long maxBackoffSeconds;
+
+    /* 업로드 커밋 직전 요약 작업 등록 (문서와 같은 트랜잭션으로 커밋되는 아웃박스) */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        enqueue(event.documentNo());
+    }
+
+    /* 요약 작업 등록 (호출한 트랜잭션과 함께 커밋) */
+    @Transactional
+    public void enqueue(Long documentNo) {
+        SummaryJob job = SummaryJob.builder()
+                .document(documentRepository.getReferenceById(documentNo))
+                .nextRunAt(LocalDateTime.now())
+                .build();
+
+        summaryJobRepository.save(job);
+
+        log.info("요약 작업 등록: documentNo={}", documentNo);
+    }
+
+    /* 실행 가능한 작업 점유 */
+    @Transactional
+    public List<ClaimedJob> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = new ArrayList<>();
+
+        for (SummaryJob job : summaryJobRepository.findRunnableForUpdate(now, limit)) {
+
+            // 리스가 만료된 채 최대 시도 횟수를 넘긴 작업은 실패 처리
+            if (job.getAttempts() >= maxAttempts) {
+                job.fail("최대 시도 횟수 초과 (리스 만료)");
+                markDocumentFailed(job);
+                log.warn("요약 작업 실패 처리: jobNo={}, attempts={}", job.getJobNo(), job.getAttempts());
+                continue;
+            }
+
+            job.start(workerId, now.plusSeconds(leaseSeconds));
+            claimed.add(new ClaimedJob(job.getJobNo(), job.getDocument().getDocumentNo(), workerId, job.getAttempts()));
+        }
+
+        return claimed;
+    }
+
+    /* 작업 완료 (요약 저장과 같은 트랜잭션에서 호출, 작업 행을 잠그므로 커밋까지 다른 워커가 다시 점유하지 못함, 리스를 잃었으면 false) */
+    @Transactional
+    public boolean completeIfLeased(ClaimedJob claimed) {
+        return findLeased(claimed)
+                .map(job -> {
+                    job.complete();
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /* 실행 중인 작업의 리스 연장 (리스를 잃었으면 false) */
+    @Transactional
+    public boolean renew(ClaimedJob claimed) {
+        return findLeased(claimed)
+                .map(job -> {
+                    job.extendLease(LocalDateTime.now().plusSeconds(leaseSeconds));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /* 실행하지 못한 작업 반납 (실행기 포화 등) */
+    @Transactional
+    public void release(ClaimedJob claimed) {
+        findLeased(claimed).ifPresent(SummaryJob::release);
+    }
+
+    /* 작업 실패 (서킷 오픈이면 시도 횟수 없이 연기, 영구 오류면 바로 실패, 그 외(DB/실행기 포화/IO 등)는 재시도 예약) */
+    @Transactional
+    public void fail(ClaimedJob claimed, Throwable cause) {
+        Long jobNo = claimed.jobNo();
+        findLeased(claimed).ifPresent(job -> {
+            String error = String.valueOf(cause.getMessage());
+
+            if (cause instanceof CircuitOpenException circuitOpen) {
+                LocalDateTime nextRunAt = LocalDateTime.now().plus(circuitOpen.getRetryAfter());
+                job.postpone(nextRunAt, error);
+                log.warn("Claude API 서킷 오픈으로 요약 작업 연기: jobNo={}, nextRunAt={}", jobNo, nextRunAt);
+                return;
+            }
+
+            boolean retryable = !isPermanent(cause);
+
+            if (retryable && job.getAttempts() < maxAttempts) {
+                LocalDateTime nextRunAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(job.getAttempts())));
+                job.retryAt(nextRunAt, error);
+                log.warn("요약 작업 재시도 예약: jobNo={}, attempts={}, nextRunAt={}", jobNo, job.getAttempts(), nextRunAt);
+                return;
+            }
+
+            job.fail(error);
+            markDocumentFailed(job);
+            log.error("요약 작업 최종 실패: jobNo={}, attempts={}, retryable={}", jobNo, job.getAttempts(), retryable);
+        });
+    }
+
+    // 다시 실행해도 소용없는 오류
+    // Claude API 오류는 일시적이어도 호출 단계에서 이미 claude.retry.max-attempts만큼 재시도했으므로 작업 단위로는 다시 돌리지 않음
+    // (작업 재시도까지 더하면 구간마다 호출 수가 곱해짐, 장애가 길면 서킷이 열려 시도 횟수 없이 연기됨)
+    private static boolean isPermanent(Throwable cause) {
+        return cause instanceof ClaudeApiException
+                || cause instanceof IllegalArgumentException;   // 문서 없음, 지원하지 않는 형식 등
+    }
+
+    // 아직 이 워커가 점유 중인 작업만 (리스가 만료되어 다른 워커가 다시 점유했으면 늦게 끝난 결과/연장은 버림)
+    private Optional<SummaryJob> findLeased(ClaimedJob claimed) {
+        Optional<SummaryJob> job = summaryJobRepository.findByIdForUpdate(claimed.jobNo())
+                .filter(j -> j.isLeasedBy(claimed.workerId(), claimed.attempts()));
+
+        if (job.isEmpty()) {
+            log.warn("리스를 잃은 요약 작업: jobNo={}, workerId={}, attempts={}", claimed.jobNo(), claimed.workerId(), claimed.attempts());
+        }
+        return job;
+    }
+
+    // 지수 백오프 + 지터 (장애 후 작업들이 한꺼번에 다시 몰리지 않도록)
+    private long backoffMillis(int attempts) {
+        long exponential = Math.min(maxBackoffSeconds, retryBackoffSeconds << Math.min(attempts - 1, 20)) * 1000;
+        return exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+    }
+
+    private void markDocumentFailed(SummaryJob job) {
+        documentRepository.findById(job.getDocument().getDocumentNo())
+                .ifPresent(doc -> doc.updateStatus(Document.DocumentStatus.FAILED));
+    }
+
+    /* 점유한 작업 정보 (workerId + attempts가 리스 토큰) */
+    public record ClaimedJob(Long jobNo, Long documentNo, String workerId, int attempts) {}
+}
@@ -0,0 +1,148 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.controller.config.AsyncConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryJobWorker {
+
+    private final SummaryJobService summaryJobService;
+    private final DocumentSummaryService documentSummaryService;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+
+    @Qualifier(AsyncConfig.AI_EXECUTOR)
+    private final ThreadPoolTaskExecutor aiExecutor;
+
+    @Value("${summary.job.batch-size:5}")
+    private int batchSize;
+
+    @Value("${summary.job.max-in-flight:16}")
+    private int maxInFlight;
+
+    private final String workerId = createWorkerId();
+
+    private Semaphore inFlight;
+
+    // 실행 중인 작업 (리스 연장 대상)
+    private final Map<Long, SummaryJobService.ClaimedJob> running = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        inFlight = new Semaphore(maxInFlight);
+
+        Gauge.builder("docflow.summary.jobs.in-flight", inFlight, s -> maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+    }
+
+    /* 요약 작업 폴링 (여러 인스턴스가 SKIP LOCKED로 작업을 나눠 가짐) */
+    @Scheduled(fixedDelayString = "${summary.job.poll-interval-ms:2000}")
+    public void poll() {
+
+        // 처리 가능한 만큼만 점유하고 나머지는 DB에 대기시킴
+        int capacity = Math.min(batchSize, inFlight.availablePermits());
+        if (capacity <= 0) {
+            return;
+        }
+
+        for (SummaryJobService.ClaimedJob job : summaryJobService.claim(workerId, capacity)) {
+            dispatch(job);
+        }
+    }
+
+    /* 실행 중인 작업 리스 연장 (주기는 summary.job.lease-seconds보다 충분히 짧게) */
+    @Scheduled(fixedDelayString = "${summary.job.renew-interval-ms:120000}")
+    public void renewLeases() {
+        for (SummaryJobService.ClaimedJob job : running.values()) {
+            try {
+                if (!summaryJobService.renew(job)) {
+                    // 다른 워커가 다시 점유함 (이 워커의 결과는 저장 시점에 버려짐)
+                    running.remove(job.jobNo());
+                }
+            } catch (Exception e) {
+                log.warn("요약 작업 리스 연장 실패: jobNo={}", job.jobNo(), e);
+            }
+        }
+    }
+
+    /* 업로드 커밋 후 바로 폴링 (폴링 주기를 기다리지 않음, 스케줄러 스레드에서 실행되어 정기 폴링과 겹치지 않음) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        log.debug("업로드 커밋 후 요약 작업 폴링 요청: documentNo={}", event.documentNo());
+        taskScheduler.schedule(this::poll, Instant.now());
+    }
+
+    private void dispatch(SummaryJobService.ClaimedJob job) {
+        inFlight.acquireUninterruptibly();
+
+        try {
+            aiExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            inFlight.release();
+            log.warn("실행기 포화로 요약 작업 반납: jobNo={}", job.jobNo());
+            summaryJobService.release(job);
+        }
+    }
+
+    /* 작업 실행 (성공하면 파이프라인이 요약 저장과 함께 완료 처리, 실패하면 여기서 실패 처리 후 permit 반납) */
+    private void run(SummaryJobService.ClaimedJob job) {
+        log.info("요약 작업 실행: jobNo={}, documentNo={}, attempts={}", job.jobNo(), job.documentNo(), job.attempts());
+        running.put(job.jobNo(), job);
+
+        CompletableFuture<Void> pipeline;
+        try {
+            pipeline = documentSummaryService.summarizeDocument(job);
+        } catch (Exception e) {
+            pipeline = CompletableFuture.failedFuture(e);
+        }
+
+        pipeline.whenComplete((result, e) -> {
+            try {
+                running.remove(job.jobNo());
+                if (e == null) {
+                    return;
+                }
+
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("요약 작업 실패: jobNo={}, documentNo={}", job.jobNo(), job.documentNo(), cause);
+                summaryJobService.fail(job, cause);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static String createWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.dockflow.backend.service.file;
+
+import com.dockflow.backend.repository.document.StoredBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/*
+ * 내용 주소 저장소 (blobs/ab/cd/<sha256>.<확장자>, 분산 단계는 FileStorageService 설정)
+ * 같은 내용은 팀/업로드 횟수와 관계없이 한 번만 저장하고, STORED_BLOB의 참조 수로 문서가 모두 정리되면 지운다
+ * 파일 이동/삭제는 커밋 후에만 (롤백되면 참조 수와 파일이 어긋나지 않도록)
+ * 삭제는 커밋 후 참조 행을 다시 잠그고 그때도 참조가 없을 때만 하므로 같은 내용의 업로드와 겹쳐도 파일이 사라지지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStoreService {
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final FileStorageService fileStorageService;
+    private final PlatformTransactionManager transactionManager;
+
+    /* 참조 추가 후 커밋되면 임시 파일을 저장소로 옮김 (이미 같은 내용이 있으면 임시 파일만 삭제, 롤백되면 임시 파일 삭제), 저장소 경로 반환 */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String store(StoredFile storedFile) {
+        Path blobPath = retain(storedFile);
+        Path stagedPath = Paths.get(storedFile.filePath());
+
+        // 업로드 커밋 후 이벤트(요약 작업 폴링)보다 먼저 옮기도록 가장 앞 순서
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                moveIntoStore(storedFile, stagedPath, blobPath);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    fileStorageService.deleteFile(stagedPath.toString());
+                }
+            }
+        });
+
+        return blobPath.toString();
+    }
+
+    /* 기존 위치의 파일을 그대로 둔 채 저장소에 링크하고 참조 추가 (저장소 이전용, 원본은 호출한 쪽에서 유예 후 삭제) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String adopt(StoredFile storedFile) {
+        Path blobPath = retain(storedFile);
+
+        Path sourcePath = Paths.get(storedFile.filePath());
+        try {
+            if (!Files.exists(blobPath)) {
+                fileStorageService.linkOrCopy(sourcePath, blobPath);
+            }
+        } catch (IOException e) {
+            log.error("파일 저장소 연결 실패: {} → {}", sourcePath, blobPath, e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        }
+
+        return blobPath.toString();
+    }
+
+    /* 참조 해제 (마지막 참조였으면 커밋 후 파일과 행 삭제) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String contentHash) {
+        storedBlobRepository.findByContentHashForUpdate(contentHash).ifPresent(blob -> {
+            if (blob.release() > 0) {
+                return;
+            }
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(contentHash);
+                }
+            });
+        });
+    }
+
+    // 커밋 후 이동 실패는 되돌릴 수 없으므로 임시 파일을 남기고 기록 (수동 복구용)
+    private void moveIntoStore(StoredFile storedFile, Path stagedPath, Path blobPath) {
+        try {
+            if (Files.exists(blobPath)) {
+                Files.deleteIfExists(stagedPath);
+                log.info("중복 파일 재사용: sha256={} ({}B)", storedFile.sha256(), storedFile.fileSize());
+            } else {
+                Files.createDirectories(blobPath.getParent());
+                Files.move(stagedPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.error("파일 저장소 이동 실패 (임시 파일 보존): {} → {}", stagedPath, blobPath, e);
+        }
+    }
+
+    // 새 트랜잭션에서 행을 다시 잠그고 그사이 같은 내용이 다시 올라오지 않았을 때만 삭제
+    // (파일을 지운 뒤 행 삭제가 실패해도 다음 업로드가 파일이 없으면 다시 옮기므로 안전)
+    private void deleteIfUnreferenced(String contentHash) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            transaction.executeWithoutResult(status -> storedBlobRepository.findByContentHashForUpdate(contentHash)
+                    .filter(blob -> blob.getRefCount() == 0)
+                    .ifPresent(blob -> {
+                        storedBlobRepository.delete(blob);
+                        fileStorageService.deleteFile(blob.getFilePath());
+                        log.info("참조가 없는 파일 삭제: sha256={}", contentHash);
+                    }));
+        } catch (Exception e) {
+            // 참조 0인 행과 파일이 남을 뿐 (같은 내용이 다시 올라오면 재사용)
+            log.error("참조가 없는 파일 정리 실패: sha256={}", contentHash, e);
+        }
+    }
+
+    // 참조 추가 후 실제 저장 경로 반환 (행이 생기거나 참조가 늘면서 커밋까지 잠김)
+    // 분산 설정이 바뀌기 전에 저장된 내용은 재배치될 때까지 행에 기록된 기존 경로를 그대로 사용
+    private Path retain(StoredFile storedFile) {
+        Path layoutPath = fileStorageService.blobPath(storedFile.sha256(), storedFile.fileType().getExtension());
+        storedBlobRepository.retain(storedFile.sha256(), layoutPath.toString(), storedFile.fileSize());
+
+        return storedBlobRepository.findByContentHash(storedFile.sha256())
+                .map(blob -> Paths.get(blob.getFilePath()))
+                .orElse(layoutPath);
+    }
+}
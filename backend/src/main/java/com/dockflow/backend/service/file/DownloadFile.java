@@ -0,0 +1,10 @@
+package com.dockflow.backend.service.file;
+
+import java.nio.file.Path;
+
+/*
+ * 다운로드할 문서 파일
+ * contentHash가 없으면(저장소 이전 전 파일) 크기/수정 시각으로 ETag 생성
+ */
+public record DownloadFile(Path path, String originalFileName, String contentHash) {
+}
@@ -0,0 +1,191 @@
+package com.dockflow.backend.service.file;
+
+import com.dockflow.backend.etc.FileType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * 파일 다운로드 응답 (단일 Range → 206, If-None-Match → 304)
+ * 본문은 Tomcat sendfile로 커널이 직접 보내고, 지원하지 않는 커넥터면 FileChannel.transferTo로 전송
+ * 어느 쪽이든 파일 내용을 힙에 올리지 않음
+ */
+@Slf4j
+@Service
+public class FileDownloadService {
+
+    // Tomcat NIO 커넥터의 sendfile 요청 속성 (end는 마지막 바이트 다음 위치)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String BYTES_UNIT = "bytes=";
+
+    // 만족할 수 없는 범위 (416)
+    private static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    /* 조건부/범위 요청을 처리하고 파일 전송 */
+    public void send(DownloadFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = file.path();
+        if (!Files.isRegularFile(path)) {
+            log.error("저장된 파일 없음: {}", path);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long fileSize = Files.size(path);
+        String eTag = eTag(file, path, fileSize);
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 권한이 필요한 파일이라 공유 캐시에는 두지 않고, 브라우저는 ETag로 재검증
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        // 1. 조건부 요청 (브라우저에 같은 파일이 있으면 본문 없이 304)
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // 2. 범위 요청 (If-Range가 현재 파일과 다르면 전체 전송, 형식이 틀리거나 여러 범위면 무시하고 전체 전송)
+        ByteRange range = null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.trim().equals(eTag)) {
+            range = parseRange(request.getHeader(HttpHeaders.RANGE), fileSize);
+        }
+
+        if (range == UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        long start = 0;
+        long end = fileSize;
+        if (range != null) {
+            start = range.start();
+            end = range.end();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + fileSize);
+        }
+
+        // 3. 본문 헤더 (PDF는 브라우저 뷰어에서 바로 열고, 나머지는 원본 파일명으로 저장)
+        FileType fileType = FileType.fromFileName(path.getFileName().toString()).orElse(null);
+        response.setContentType(fileType != null ? fileType.getMediaType() : DEFAULT_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.builder(fileType == FileType.PDF ? "inline" : "attachment")
+                        .filename(file.originalFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString());
+        response.setContentLengthLong(end - start);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        // 4. 본문 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    // 전송 중 파일이 줄어든 경우
+                    throw new EOFException("파일 끝에 도달했습니다: " + path);
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // 내용 해시가 있으면 해시, 없으면 크기와 수정 시각
+    private static String eTag(DownloadFile file, Path path, long fileSize) throws IOException {
+        if (file.contentHash() != null) {
+            return "\"" + file.contentHash() + "\"";
+        }
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        return "\"" + Long.toHexString(fileSize) + "-" + Long.toHexString(modified) + "\"";
+    }
+
+    // If-None-Match 목록 중 하나라도 같으면 true (약한 비교)
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 단일 범위만 처리 (bytes=a-b, bytes=a-, bytes=-n), 무시할 요청이면 null
+    private static ByteRange parseRange(String header, long fileSize) {
+        if (header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            // 끝에서 n바이트
+            if (first.isEmpty()) {
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || fileSize == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, fileSize - suffixLength), fileSize);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last) + 1;
+            if (start < 0 || end <= start) {
+                return null;
+            }
+            if (start >= fileSize) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, fileSize));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // [start, end)
+    private record ByteRange(long start, long end) {
+    }
+}
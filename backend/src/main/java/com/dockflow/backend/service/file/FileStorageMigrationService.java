@@ -0,0 +1,246 @@
+package com.dockflow.backend.service.file;
+
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.document.FileMigrationRecord;
+import com.dockflow.backend.entity.document.StoredBlob;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.repository.document.FileMigrationRecordRepository;
+import com.dockflow.backend.repository.document.StoredBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 파일 저장소 이전 (서비스 중 배치로 실행, file.storage.migration.enabled=true일 때만)
+ * 1단계: 팀 디렉토리(team_<teamNo>)에 평평하게 쌓인 기존 파일을 해시 분산 저장소로 옮기고 Document.filePath 변경
+ * 2단계: 분산 설정(shard-levels/width)이 바뀌었으면 저장소 파일을 새 경로로 재배치하고 같은 내용의 문서 경로 일괄 변경
+ * 새 경로에 하드 링크를 먼저 만들고 경로를 바꾼 뒤, 기존 파일은 유예 시간이 지나야 삭제
+ * (경로를 바꾸기 전에 읽어 간 요약 작업 등이 기존 경로로 계속 읽을 수 있도록)
+ * 옮길 수 없는 파일은 이전 제외로 기록해 재시작해도 다시 확인하지 않음
+ * 문서/저장소 행을 잠그고 옮기므로 같은 문서의 삭제나 같은 내용의 업로드와 겹쳐도 안전
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileStorageMigrationService {
+
+    private final DocumentRepository documentRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final FileMigrationRecordRepository fileMigrationRecordRepository;
+    private final BlobStoreService blobStoreService;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${file.storage.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${file.storage.migration.batch-size:100}")
+    private int batchSize;
+
+    // 기존 파일 삭제 유예 (요약 작업 리스 summary.job.lease-seconds보다 길게)
+    @Value("${file.storage.migration.delete-grace-minutes:60}")
+    private long deleteGraceMinutes;
+
+    // 다음 배치 시작 위치 (일시적 오류로 옮기지 못한 파일은 재시작하면 다시 확인)
+    private final AtomicLong documentCursor = new AtomicLong();
+    private final AtomicLong blobCursor = new AtomicLong();
+
+    private volatile boolean documentsDone;
+    private volatile boolean blobsDone;
+
+    /* 한 배치씩 이전 (기존 문서를 모두 옮긴 뒤 저장소 재배치, 유예 시간이 지난 기존 파일은 매번 정리) */
+    @Scheduled(fixedDelayString = "${file.storage.migration.interval-ms:5000}")
+    public void migrateBatch() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            deleteReplacedFiles();
+
+            if (!documentsDone) {
+                migrateLegacyDocuments();
+            } else if (!blobsDone) {
+                relocateBlobs();
+            }
+        } catch (Exception e) {
+            log.warn("파일 저장소 이전 배치 실패", e);
+        }
+    }
+
+    // 유예 시간이 지난 기존 파일 삭제
+    private void deleteReplacedFiles() {
+        List<FileMigrationRecord> due = transactionTemplate.execute(status ->
+                fileMigrationRecordRepository.findByStatusAndDeleteAfterBeforeOrderByRecordNo(
+                        FileMigrationRecord.MigrationStatus.PENDING_DELETE, LocalDateTime.now(), PageRequest.of(0, batchSize)));
+
+        for (FileMigrationRecord record : due) {
+            fileStorageService.deleteFile(record.getFilePath());
+            transactionTemplate.executeWithoutResult(status ->
+                    fileMigrationRecordRepository.findById(record.getRecordNo()).ifPresent(FileMigrationRecord::markDeleted));
+        }
+
+        if (!due.isEmpty()) {
+            log.info("이전된 기존 파일 삭제: {}건", due.size());
+        }
+    }
+
+    // 1단계: 팀 디렉토리의 기존 파일 (활성 문서만, 삭제된 문서 파일은 그대로 둠)
+    private void migrateLegacyDocuments() {
+        List<LegacyFile> batch = transactionTemplate.execute(status ->
+                documentRepository.findLegacyFiles(documentCursor.get(), PageRequest.of(0, batchSize))
+                        .stream()
+                        .map(document -> new LegacyFile(document.getDocumentNo(), document.getFilePath()))
+                        .toList());
+
+        if (batch.isEmpty()) {
+            documentsDone = true;
+            log.info("기존 문서 파일 이전 완료");
+            return;
+        }
+
+        int migrated = 0;
+        for (LegacyFile legacyFile : batch) {
+            documentCursor.set(legacyFile.documentNo());
+            try {
+                if (migrateDocument(legacyFile)) {
+                    migrated++;
+                }
+            } catch (Exception e) {
+                log.warn("문서 파일 이전 실패 (건너뜀): documentNo={}, {}", legacyFile.documentNo(), legacyFile.filePath(), e);
+            }
+        }
+
+        log.info("기존 문서 파일 이전: {}/{}건 (documentNo ~{})", migrated, batch.size(), documentCursor.get());
+    }
+
+    private boolean migrateDocument(LegacyFile legacyFile) throws IOException {
+        Path legacyPath = Paths.get(legacyFile.filePath());
+        if (!Files.exists(legacyPath)) {
+            skip(legacyFile, "원본 파일 없음");
+            return false;
+        }
+
+        // 해시/형식 확인은 트랜잭션 밖에서 (저장 파일명도 원본 확장자를 따름), 형식이 맞지 않으면 이전 제외
+        StoredFile storedFile;
+        try {
+            storedFile = fileStorageService.inspect(legacyPath, legacyPath.getFileName().toString());
+        } catch (IllegalArgumentException e) {
+            skip(legacyFile, e.getMessage());
+            return false;
+        }
+
+        // 저장소에 연결하고 문서 경로 변경, 기존 파일은 유예 후 삭제하도록 기록 (그사이 삭제/변경된 문서는 건너뜀)
+        Boolean migrated = transactionTemplate.execute(status -> {
+            Document document = documentRepository.findByIdForUpdate(legacyFile.documentNo()).orElse(null);
+            if (document == null || !document.getIsActive() || document.getContentHash() != null
+                    || !legacyFile.filePath().equals(document.getFilePath())) {
+                return false;
+            }
+
+            String blobPath = blobStoreService.adopt(storedFile);
+            document.moveToBlob(blobPath, storedFile.sha256());
+            scheduleDelete(document, legacyFile.filePath());
+            return true;
+        });
+
+        return Boolean.TRUE.equals(migrated);
+    }
+
+    // 2단계: 현재 분산 설정과 다른 경로에 있는 저장소 파일
+    private void relocateBlobs() {
+        List<StoredBlob> batch = transactionTemplate.execute(status ->
+                storedBlobRepository.findByBlobNoGreaterThanOrderByBlobNo(blobCursor.get(), PageRequest.of(0, batchSize)));
+
+        if (batch.isEmpty()) {
+            blobsDone = true;
+            log.info("파일 저장소 재배치 확인 완료");
+            return;
+        }
+
+        int relocated = 0;
+        for (StoredBlob blob : batch) {
+            blobCursor.set(blob.getBlobNo());
+            try {
+                if (relocateBlob(blob.getContentHash())) {
+                    relocated++;
+                }
+            } catch (Exception e) {
+                log.warn("저장소 파일 재배치 실패 (건너뜀): sha256={}", blob.getContentHash(), e);
+            }
+        }
+
+        if (relocated > 0) {
+            log.info("저장소 파일 재배치: {}/{}건 (blobNo ~{})", relocated, batch.size(), blobCursor.get());
+        }
+    }
+
+    private boolean relocateBlob(String contentHash) {
+        Boolean relocated = transactionTemplate.execute(status -> {
+            StoredBlob blob = storedBlobRepository.findByContentHashForUpdate(contentHash).orElse(null);
+            if (blob == null) {
+                return false;
+            }
+
+            Path currentPath = Paths.get(blob.getFilePath());
+            Path layoutPath = fileStorageService.blobPath(contentHash, extensionOf(currentPath));
+            if (currentPath.equals(layoutPath)) {
+                return false;
+            }
+
+            try {
+                fileStorageService.linkOrCopy(currentPath, layoutPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            blob.relocate(layoutPath.toString());
+            documentRepository.updateFilePathByContentHash(contentHash, layoutPath.toString());
+            scheduleDelete(null, currentPath.toString());
+            return true;
+        });
+
+        return Boolean.TRUE.equals(relocated);
+    }
+
+    private void scheduleDelete(Document document, String filePath) {
+        fileMigrationRecordRepository.save(FileMigrationRecord.builder()
+                .document(document)
+                .filePath(filePath)
+                .status(FileMigrationRecord.MigrationStatus.PENDING_DELETE)
+                .deleteAfter(LocalDateTime.now().plusMinutes(deleteGraceMinutes))
+                .build());
+    }
+
+    private void skip(LegacyFile legacyFile, String reason) {
+        log.warn("문서 파일 이전 제외: documentNo={}, {} ({})", legacyFile.documentNo(), legacyFile.filePath(), reason);
+
+        transactionTemplate.executeWithoutResult(status -> fileMigrationRecordRepository.save(FileMigrationRecord.builder()
+                .document(documentRepository.getReferenceById(legacyFile.documentNo()))
+                .filePath(legacyFile.filePath())
+                .status(FileMigrationRecord.MigrationStatus.SKIPPED)
+                .reason(reason)
+                .build()));
+    }
+
+    private static String extensionOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.substring(fileName.lastIndexOf('.') + 1);
+    }
+
+    private record LegacyFile(Long documentNo, String filePath) {
+    }
+}
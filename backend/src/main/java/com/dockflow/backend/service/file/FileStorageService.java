@@ -1,59 +1,269 @@
 package com.dockflow.backend.service.file;
 
+import com.dockflow.backend.etc.FileType;
+import com.dockflow.backend.etc.FileTypeDetector;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 @Slf4j
 public class FileStorageService {
 
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String STAGING_DIRECTORY = "tmp";
+    private static final String BLOB_DIRECTORY = "blobs";
+
+    // 분산 디렉토리에 쓰는 해시 앞부분 최대 길이
+    private static final int MAX_SHARD_PREFIX = 8;
+
+    // multipart 구분자/헤더/다른 입력 필드 몫으로 허용하는 여유분
+    private static final long MULTIPART_OVERHEAD_BYTES = 64 * 1024;
+
     @Value("${file.upload.directory}")
     private String uploadDirectory;
 
-    /* 파일 저장 */
-    public String storeFile(MultipartFile file, Long teamNo) {
+    @Value("${file.upload.max-bytes:10485760}")
+    private long maxFileBytes;
+
+    // 내용 주소 저장소 디렉토리 분산 (해시 앞에서 width글자씩 levels단계, 2/2 → blobs/ab/cd/<hash>.<확장자>)
+    @Value("${file.storage.shard-levels:2}")
+    private int shardLevels;
+
+    @Value("${file.storage.shard-width:2}")
+    private int shardWidth;
+
+    @PostConstruct
+    void validateLayout() {
+        if (shardLevels < 0 || shardWidth < 1 || shardLevels * shardWidth > MAX_SHARD_PREFIX) {
+            throw new IllegalStateException("file.storage.shard-levels × shard-width는 " + MAX_SHARD_PREFIX + " 이하여야 합니다.");
+        }
+    }
+
+    /* 내용 주소 저장소 경로 (현재 디렉토리 분산 설정 기준) */
+    public Path blobPath(String sha256, String extension) {
+        Path path = Paths.get(uploadDirectory, BLOB_DIRECTORY);
+        for (int level = 0; level < shardLevels; level++) {
+            path = path.resolve(sha256.substring(level * shardWidth, (level + 1) * shardWidth));
+        }
+        return path.resolve(sha256 + "." + extension);
+    }
+
+    /* 기존 파일을 다른 경로에도 둠 (같은 파일시스템이면 하드 링크라 복사 없음, 아니면 복사) */
+    public void linkOrCopy(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
         try {
-            // 원본 파일명
-            String originalFileName = file.getOriginalFilename();
-            if (originalFileName == null || originalFileName.isEmpty()) {
-                throw new IllegalArgumentException("파일명이 올바르지 않습니다.");
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 다른 작업이 먼저 둔 경우
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /*
+     * 업로드 파일을 임시 위치에 저장 (컨테이너 임시 파일을 옮김, 같은 파일시스템이면 다시 복사하지 않고 이름만 바뀜)
+     * 한 번 읽으면서 형식 판별과 SHA-256 계산, 내용 주소 저장소로는 문서 등록 시 옮김
+     */
+    public StoredFile storeFile(MultipartFile file) {
+        // 원본 파일명
+        String originalFileName = file.getOriginalFilename();
+        if (originalFileName == null || originalFileName.isEmpty()) {
+            throw new IllegalArgumentException("파일명이 올바르지 않습니다.");
+        }
+
+        Path stagedPath = null;
+        try {
+            stagedPath = newStagedPath();
+            file.transferTo(stagedPath.toAbsolutePath().toFile());
+
+            return inspect(stagedPath, originalFileName);
+        } catch (IOException e) {
+            deleteStaged(stagedPath);
+            log.error("파일 저장 실패", e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        } catch (RuntimeException e) {
+            deleteStaged(stagedPath);
+            throw e;
+        }
+    }
+
+    /* 요청 본문 크기 확인 (Content-Length를 알면 읽기 전에 거부) */
+    public void checkRequestSize(long contentLength) {
+        if (contentLength > maxFileBytes + MULTIPART_OVERHEAD_BYTES) {
+            throw new IllegalArgumentException("파일 크기는 " + formatFileSize(maxFileBytes) + "를 초과할 수 없습니다.");
+        }
+    }
+
+    /*
+     * 스트림을 저장소와 같은 파일시스템의 임시 위치에 바로 저장 (컨테이너 임시 파일을 거쳐 다시 복사하지 않음)
+     * 읽는 대로 디스크에 쓰면서 크기와 SHA-256을 계산하고, 앞부분으로 형식을 판별해 맞지 않으면 나머지를 받기 전에 거부 (실패하면 삭제)
+     * 내용 주소 저장소로는 문서 등록 시 이름만 바꿔 옮김
+     */
+    public StoredFile storeStream(InputStream input, String originalFileName) {
+        if (originalFileName == null || originalFileName.isEmpty()) {
+            throw new IllegalArgumentException("파일명이 올바르지 않습니다.");
+        }
+
+        Path partPath = null;
+        try {
+            partPath = newStagedPath();
+
+            MessageDigest digest = sha256();
+            FileType fileType;
+            long fileSize;
+
+            try (OutputStream out = new BufferedOutputStream(
+                    Files.newOutputStream(partPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), WRITE_BUFFER_BYTES);
+                 WritingInputStream in = new WritingInputStream(new DigestInputStream(input, digest), out, maxFileBytes)) {
+
+                // 판별에 읽은 앞부분도 그대로 파일에 쓰임
+                fileType = detectType(in, originalFileName);
+                in.transferTo(OutputStream.nullOutputStream());
+                fileSize = in.getWritten();
             }
 
-            // 파일 확장자
-            String extension = "";
-            int lastDotIndex = originalFileName.lastIndexOf(".");
-            if (lastDotIndex > 0) {
-                extension = originalFileName.substring(lastDotIndex);
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            log.info("파일 수신 완료: {} ({}B, sha256={})", originalFileName, fileSize, sha256);
+
+            return new StoredFile(partPath.toString(), originalFileName, fileSize, sha256, fileType);
+        } catch (IOException e) {
+            deleteStaged(partPath);
+            log.error("파일 저장 실패", e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        } catch (RuntimeException e) {
+            deleteStaged(partPath);
+            throw e;
+        }
+    }
+
+    /* 분할 업로드용 .part 파일 생성 (전체 크기로 미리 늘려 두어 청크를 순서와 관계없이 제 위치에 씀) */
+    public String createPartFile(long fileSize) {
+        try {
+            Path partPath = newStagedPath();
+            try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                // 마지막 바이트만 써서 크기를 맞춤 (지원하는 파일시스템에서는 빈 구간이 디스크를 차지하지 않음)
+                if (fileSize > 0) {
+                    channel.write(ByteBuffer.allocate(1), fileSize - 1);
+                }
             }
 
-            String storedFilename = UUID.randomUUID().toString() + extension;
+            return partPath.toString();
+        } catch (IOException e) {
+            log.error("분할 업로드 파일 생성 실패", e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
+    /* 청크를 .part 파일의 offset 위치에 씀 (본문 길이가 length와 다르면 거부) */
+    public void writeChunk(String partFilePath, long offset, long length, InputStream input) {
+        try (FileChannel channel = FileChannel.open(Paths.get(partFilePath), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(input);
 
-            // 팀별 디렉토리 생성
-            Path teamDirectory = Paths.get(uploadDirectory, "team_" + teamNo);
-            Files.createDirectories(teamDirectory);
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    throw new IllegalArgumentException("청크 크기가 올바르지 않습니다. (" + written + "/" + length + "B)");
+                }
+                written += transferred;
+            }
 
-            // 파일 저장
-            Path filePath = teamDirectory.resolve(storedFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            if (input.read() >= 0) {
+                throw new IllegalArgumentException("청크 크기가 올바르지 않습니다. (" + length + "B 초과)");
+            }
+        } catch (IOException e) {
+            log.error("청크 저장 실패: {} (offset={})", partFilePath, offset, e);
+            throw new RuntimeException("청크 저장에 실패했습니다.", e);
+        }
+    }
 
-            log.info("파일 저장 완료: {}", filePath.toString());
+    /* 분할 업로드 완료 (디스크에 반영한 뒤 형식 판별과 SHA-256 계산, 내용 주소 저장소로는 문서 등록 시 옮김) */
+    public StoredFile finishPartFile(String partFilePath, String originalFileName) {
+        Path partPath = Paths.get(partFilePath);
 
-            return filePath.toString();
+        try {
+            try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return inspect(partPath, originalFileName);
         } catch (IOException e) {
-            log.error("파일 저장 실패", e);
+            log.error("분할 업로드 완료 처리 실패: {}", partFilePath, e);
             throw new RuntimeException("파일 저장에 실패했습니다.", e);
         }
     }
 
+    /* 한 번 순차로 읽으면서 형식 판별과 SHA-256 계산 */
+    public StoredFile inspect(Path path, String originalFileName) throws IOException {
+        MessageDigest digest = sha256();
+        FileType fileType;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            fileType = detectType(in, originalFileName);
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        long fileSize = Files.size(path);
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        log.info("파일 수신 완료: {} ({}B, sha256={})", originalFileName, fileSize, sha256);
+
+        return new StoredFile(path.toString(), originalFileName, fileSize, sha256, fileType);
+    }
+
+    // 판별 중 읽기 오류는 내용이 깨진 파일로 봄 (ZIP 항목 구조를 읽지 못하는 경우 등, 서버 오류가 아니라 업로드 거부)
+    private static FileType detectType(InputStream in, String originalFileName) {
+        try {
+            return FileTypeDetector.detect(in, originalFileName);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("파일 내용을 확인할 수 없습니다. : " + originalFileName, e);
+        }
+    }
+
+    // 업로드 중인 파일 위치 (내용 주소 저장소와 같은 파일시스템이어야 이동이 이름 변경으로 끝남)
+    private Path newStagedPath() throws IOException {
+        Path stagingDirectory = Paths.get(uploadDirectory, STAGING_DIRECTORY);
+        Files.createDirectories(stagingDirectory);
+        return stagingDirectory.resolve(UUID.randomUUID() + PART_SUFFIX);
+    }
+
+    private void deleteStaged(Path stagedPath) {
+        if (stagedPath != null) {
+            deleteFile(stagedPath.toString());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /* 파일 삭제 */
     public void deleteFile(String filePath) {
         try {
@@ -77,4 +287,61 @@ public class FileStorageService {
             return String.format("%.2f GB", size / (1024.0 * 1024.0 * 1024.0));
         }
     }
+
+    /* 읽은 바이트를 그대로 파일에 쓰고, 크기 제한을 넘으면 중단하는 스트림 */
+    private static class WritingInputStream extends FilterInputStream {
+
+        private final OutputStream out;
+        private final long maxBytes;
+        private long written;
+
+        WritingInputStream(InputStream in, OutputStream out, long maxBytes) {
+            super(in);
+            this.out = out;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                write(b, off, read);
+            }
+            return read;
+        }
+
+        // 앞부분만 읽는 판별 로직이 건너뛴 바이트도 파일에 써야 하므로 skip도 read로 처리
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] skipped = new byte[(int) Math.min(n, WRITE_BUFFER_BYTES)];
+            int read = read(skipped, 0, skipped.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            written += len;
+            if (written > maxBytes) {
+                throw new IllegalArgumentException("파일 크기는 " + formatFileSize(maxBytes) + "를 초과할 수 없습니다.");
+            }
+            out.write(b, off, len);
+        }
+
+        long getWritten() {
+            return written;
+        }
+    }
 }
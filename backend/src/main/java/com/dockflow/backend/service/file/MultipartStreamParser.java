@@ -0,0 +1,266 @@
+package com.dockflow.backend.service.file;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * multipart/form-data 스트리밍 파서
+ * 서블릿 컨테이너가 본문 전체를 임시 파일로 받아두지 않고, 요청 스트림에서 읽는 대로 파트를 하나씩 넘겨준다
+ * 파트 본문은 다음 파트로 넘어가기 전에 읽어야 함 (읽지 않은 나머지는 건너뜀)
+ */
+public class MultipartStreamParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    private static final int MAX_FIELD_BYTES = 8 * 1024;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=(?:\"([^\"]+)\"|([^;\\s]+))", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DISPOSITION_PARAM = Pattern.compile(";\\s*(name|filename)=\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+
+    private final InputStream in;
+
+    // 파트 구분자 ("\r\n--" + boundary)
+    private final byte[] delimiter;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int head;
+    private int tail;
+
+    private Part currentPart;
+    private boolean finished;
+
+    public MultipartStreamParser(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+
+        // 첫 구분자 앞에는 줄바꿈이 없으므로 버퍼에 미리 넣어 두고 같은 방식으로 찾음
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+    }
+
+    /* Content-Type 헤더에서 boundary 추출 */
+    public static String boundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/form-data")) {
+            throw new IllegalArgumentException("multipart/form-data 요청이 아닙니다.");
+        }
+
+        Matcher matcher = BOUNDARY.matcher(contentType);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("multipart boundary가 없습니다.");
+        }
+        return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+    }
+
+    /* 다음 파트 (더 없으면 null) */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        // 이전 파트의 읽지 않은 본문, 첫 파트라면 preamble을 구분자까지 건너뜀
+        PartInputStream skipped = currentPart != null ? currentPart.inputStream : new PartInputStream();
+        skipped.transferTo(OutputStream.nullOutputStream());
+
+        // 구분자 뒤가 "--"이면 본문 끝
+        ensure(2);
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            currentPart = null;
+            return null;
+        }
+        if (!startsWith(CRLF, head)) {
+            throw new IOException("multipart 구분자 형식이 올바르지 않습니다.");
+        }
+        head += CRLF.length;
+
+        currentPart = readHeaders();
+        return currentPart;
+    }
+
+    // 파트 헤더 (빈 줄까지), Content-Disposition의 name/filename만 사용
+    private Part readHeaders() throws IOException {
+        ensure(2);
+        String headers = "";
+
+        if (startsWith(CRLF, head)) {
+            head += CRLF.length;
+        } else {
+            int end;
+            while ((end = indexOf(HEADER_END, head, tail)) < 0) {
+                if (tail - head > MAX_HEADER_BYTES) {
+                    throw new IllegalArgumentException("multipart 헤더가 너무 깁니다.");
+                }
+                if (!fill()) {
+                    throw new IOException("multipart 본문이 중간에 끊겼습니다.");
+                }
+            }
+            headers = new String(buffer, head, end - head, StandardCharsets.UTF_8);
+            head = end + HEADER_END.length;
+        }
+
+        String name = null;
+        String fileName = null;
+        String contentType = null;
+
+        for (String line : headers.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String headerName = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+
+            if (headerName.equalsIgnoreCase("Content-Disposition")) {
+                Matcher matcher = DISPOSITION_PARAM.matcher(value);
+                while (matcher.find()) {
+                    if (matcher.group(1).equalsIgnoreCase("name")) {
+                        name = matcher.group(2);
+                    } else {
+                        fileName = stripPath(matcher.group(2));
+                    }
+                }
+            } else if (headerName.equalsIgnoreCase("Content-Type")) {
+                contentType = value;
+            }
+        }
+
+        return new Part(name, fileName, contentType, new PartInputStream());
+    }
+
+    // 일부 브라우저는 전체 경로를 보냄
+    private static String stripPath(String fileName) {
+        int slash = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+        return slash >= 0 ? fileName.substring(slash + 1) : fileName;
+    }
+
+    // 버퍼에 최소 count바이트가 있도록 읽음
+    private void ensure(int count) throws IOException {
+        while (tail - head < count) {
+            if (!fill()) {
+                throw new IOException("multipart 본문이 중간에 끊겼습니다.");
+            }
+        }
+    }
+
+    // 남은 데이터를 버퍼 앞으로 옮기고 뒤를 채움 (스트림 끝이면 false)
+    private boolean fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            return false;
+        }
+        tail += read;
+        return true;
+    }
+
+    private boolean startsWith(byte[] pattern, int from) {
+        if (tail - from < pattern.length) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            if (buffer[from + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(byte[] pattern, int from, int to) {
+        for (int i = from; i <= to - pattern.length; i++) {
+            if (buffer[i] == pattern[0] && startsWith(pattern, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Getter
+    public static class Part {
+
+        private final String name;
+        private final String fileName;
+        private final String contentType;
+        private final PartInputStream inputStream;
+
+        Part(String name, String fileName, String contentType, PartInputStream inputStream) {
+            this.name = name;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.inputStream = inputStream;
+        }
+
+        public boolean isFile() {
+            return fileName != null;
+        }
+
+        /* 일반 입력 필드 값 */
+        public String readString() throws IOException {
+            byte[] value = inputStream.readNBytes(MAX_FIELD_BYTES + 1);
+            if (value.length > MAX_FIELD_BYTES) {
+                throw new IllegalArgumentException("입력값이 너무 깁니다. : " + name);
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /* 다음 구분자 직전까지만 읽는 파트 본문 스트림 */
+    public class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+
+            while (true) {
+                // 이번에 돌려줄 범위 + 구분자 길이까지만 검색 (같은 구간을 반복해서 훑지 않도록)
+                int scanEnd = (int) Math.min(tail, (long) head + len + delimiter.length);
+                int index = indexOf(delimiter, head, scanEnd);
+                if (index == head) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+
+                // 구분자가 없으면 버퍼 끝의 (구분자 길이 - 1)바이트는 구분자 앞부분일 수 있어 남겨 둠
+                int available = index >= 0 ? index - head : scanEnd - head - (delimiter.length - 1);
+                if (available > 0) {
+                    int count = Math.min(len, available);
+                    System.arraycopy(buffer, head, b, off, count);
+                    head += count;
+                    return count;
+                }
+
+                if (!fill()) {
+                    throw new IOException("multipart 본문이 중간에 끊겼습니다.");
+                }
+            }
+        }
+    }
+}
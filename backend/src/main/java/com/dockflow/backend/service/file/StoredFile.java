@@ -0,0 +1,7 @@
+package com.dockflow.backend.service.file;
+
+import com.dockflow.backend.etc.FileType;
+
+/* 수신한 업로드 파일 (임시 위치, 크기/해시/형식은 받으면서 계산) */
+public record StoredFile(String filePath, String originalFileName, long fileSize, String sha256, FileType fileType) {
+}
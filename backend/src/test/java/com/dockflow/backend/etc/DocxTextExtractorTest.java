@@ -0,0 +1,66 @@
+package com.dockflow.backend.etc;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocxTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void tableRowsAreExtractedAsOneLine() throws Exception {
+        Path file = writeDocx(new String[][]{
+                {"지점", "담당 부서", "상태"},
+                {"서울특별시 강남구 본사", "영업기획팀", "운영 중"}});
+
+        String text = extract(file);
+
+        assertThat(text).isEqualTo(String.join("\n",
+                "분기별 지점 현황",
+                "지점 | 담당 부서 | 상태",
+                "서울특별시 강남구 본사 | 영업기획팀 | 운영 중"));
+    }
+
+    @Test
+    void repeatedTableRowsSurviveBoilerplateRemoval() throws Exception {
+        String[] row = {"서울특별시 강남구 본사", "영업기획팀", "운영 중"};
+        Path file = writeDocx(new String[][]{{"지점", "담당 부서", "상태"}, row, row, row});
+
+        String text = extract(file);
+
+        assertThat(TextCompressor.removeBoilerplate(text)).isEqualTo(text);
+        assertThat(text.split("\n")).filteredOn(line -> line.startsWith("서울특별시")).hasSize(3);
+    }
+
+    private Path writeDocx(String[][] cells) throws Exception {
+        Path file = tempDir.resolve("table.docx");
+
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            document.createParagraph().createRun().setText("분기별 지점 현황");
+
+            XWPFTable table = document.createTable(cells.length, cells[0].length);
+            for (int r = 0; r < cells.length; r++) {
+                for (int c = 0; c < cells[r].length; c++) {
+                    table.getRow(r).getCell(c).setText(cells[r][c]);
+                }
+            }
+            document.write(out);
+        }
+        return file;
+    }
+
+    private static String extract(Path file) throws Exception {
+        TextBudget budget = new TextBudget(100_000, 1024);
+        new DocxTextExtractor().extract(file.toFile(), budget);
+        return budget.finish();
+    }
+}
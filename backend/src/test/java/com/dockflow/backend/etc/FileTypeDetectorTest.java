@@ -0,0 +1,48 @@
+package com.dockflow.backend.etc;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileTypeDetectorTest {
+
+    @Test
+    void textMentioningPdfMagicIsText() throws IOException {
+        byte[] text = ("PDF 헤더는 보통 %PDF-1.7 로 시작합니다.\n" + "본문 ".repeat(100)).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(detect(text, "메모.txt")).isEqualTo(FileType.TXT);
+    }
+
+    @Test
+    void pdfMagicAfterJunkIsOnlyAcceptedForPdf() throws IOException {
+        byte[] pdf = ("\0junk".repeat(10) + "%PDF-1.7\n").getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThat(detect(pdf, "보고서.pdf")).isEqualTo(FileType.PDF);
+        assertThatThrownBy(() -> detect(pdf, "보고서.docx")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ooxmlContainingPdfMagicIsDetectedByEntries() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<!-- %PDF- -->".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write("<w:document/>".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(detect(out.toByteArray(), "계약서.docx")).isEqualTo(FileType.DOCX);
+    }
+
+    private static FileType detect(byte[] content, String fileName) throws IOException {
+        return FileTypeDetector.detect(new ByteArrayInputStream(content), fileName);
+    }
+}
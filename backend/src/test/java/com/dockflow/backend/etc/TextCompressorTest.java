@@ -0,0 +1,82 @@
+package com.dockflow.backend.etc;
+
+import com.dockflow.backend.claude.TokenEstimator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextCompressorTest {
+
+    @Test
+    void numericTableRowsAreKept() {
+        String table = String.join("\n",
+                "2021 1,200 3.5",
+                "2022 1,350 3.7",
+                "2023 1,410 3.9",
+                "2024 1,520 4.1",
+                "1분기 120 130",
+                "2분기 140 150",
+                "3분기 160 170",
+                "4분기 180 190");
+
+        assertThat(TextCompressor.removeBoilerplate(table)).isEqualTo(table);
+    }
+
+    @Test
+    void repeatedHeaderKeepsFirstOccurrence() {
+        String text = String.join("\n",
+                "ACME Confidential",
+                "첫 번째 페이지 본문입니다.",
+                "- 1 -",
+                "ACME Confidential",
+                "두 번째 페이지 본문입니다.",
+                "- 2 -",
+                "ACME Confidential",
+                "세 번째 페이지 본문입니다.",
+                "- 3 -");
+
+        assertThat(TextCompressor.removeBoilerplate(text)).isEqualTo(String.join("\n",
+                "ACME Confidential",
+                "첫 번째 페이지 본문입니다.",
+                "두 번째 페이지 본문입니다.",
+                "세 번째 페이지 본문입니다."));
+    }
+
+    @Test
+    void spreadsheetTextIsNotDeduplicated() {
+        String sheet = String.join("\n",
+                "[Sheet1]",
+                "합계 금액 100",
+                "합계 금액 100",
+                "합계 금액 100");
+
+        assertThat(TextCompressor.compress(sheet, 10_000, FileType.XLSX)).isEqualTo(sheet);
+    }
+
+    @Test
+    void unpunctuatedBlockIsSplitInsteadOfDropped() {
+        // 마침표 없는 슬라이드/표 문단 (한 문장으로는 예산을 넘음)
+        StringBuilder slide = new StringBuilder();
+        for (int i = 1; i <= 300; i++) {
+            slide.append("항목 ").append(i).append(" 매출 현황 요약\n");
+        }
+
+        String compressed = TextCompressor.selectSentences(slide.toString().trim(), 500);
+
+        assertThat(compressed).isNotBlank();
+        assertThat(TokenEstimator.estimate(compressed)).isLessThanOrEqualTo(500);
+    }
+
+    @Test
+    void selectionStaysWithinBudget() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            text.append("문단 ").append(i).append("의 첫 문장입니다. 주제 ").append(i % 7).append("에 대한 설명이 이어집니다.\n\n");
+        }
+
+        String compressed = TextCompressor.selectSentences(text.toString().trim(), 300);
+
+        assertThat(compressed).isNotBlank();
+        assertThat(TokenEstimator.estimate(compressed)).isLessThanOrEqualTo(300);
+    }
+}
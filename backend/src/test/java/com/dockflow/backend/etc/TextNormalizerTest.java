@@ -0,0 +1,65 @@
+package com.dockflow.backend.etc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void matchesRegexCleanText() {
+        List<String> inputs = List.of(
+                "",
+                "   \t  ",
+                "첫 줄\r\n둘째 줄\r\n\r\n\r\n\r\n셋째 줄\r\n",
+                "이름\t\t나이\t 직급\n홍길동\t32\t대리",
+                "\u00A0앞뒤 NBSP\u00A0 \u00A0 사이\u00A0",
+                "문단 1\n\n\n\n\n\n문단 2\n\n\n문단 3",
+                "  \n\n\n  \t 앞쪽 공백과 줄바꿈",
+                "뒤쪽 공백과 줄바꿈 \t \n\n\n \t\n",
+                "a \n\n\n b\n\n \n\nc\n\r\n\n\nd",
+                "\r\u0001 \t 제어 문자 \u0001 사이 \r");
+
+        for (String input : inputs) {
+            assertThat(TextNormalizer.normalize(input)).as("input: %s", input).isEqualTo(cleanText(input));
+        }
+    }
+
+    @Test
+    void matchesRegexCleanTextOnRandomWhitespace() {
+        char[] alphabet = {' ', ' ', '\t', '\n', '\n', '\r', ' ', '\u0001', '\u00A0', 'a', '가'};
+        Random random = new Random(16);
+
+        for (int i = 0; i < 2_000; i++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+
+            assertThat(TextNormalizer.normalize(input)).as("input: %s", input).isEqualTo(cleanText(input));
+        }
+    }
+
+    @Test
+    void chunkedAppendMatchesSinglePass() {
+        String input = "페이지 1\t\t본문  \n\n\n\n페이지 2 \r\n\r\n 끝 ";
+
+        TextNormalizer normalizer = new TextNormalizer(Integer.MAX_VALUE, 16);
+        for (int i = 0; i < input.length(); i += 3) {
+            normalizer.append(input, i, Math.min(i + 3, input.length()));
+        }
+
+        assertThat(normalizer.finish()).isEqualTo(cleanText(input));
+    }
+
+    // 기존 FileTextExtractor.cleanText (정규식 버전)
+    private static String cleanText(String text) {
+        text = text.replaceAll("[ \\t]+", " ");
+        text = text.replaceAll("\\n{3,}", "\n\n");
+        return text.trim();
+    }
+}
@@ -0,0 +1,189 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.dto.document.UploadSessionResponse;
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.document.UploadSession;
+import com.dockflow.backend.entity.member.Member;
+import com.dockflow.backend.entity.team.Team;
+import com.dockflow.backend.etc.FileTextExtractor;
+import com.dockflow.backend.etc.FileType;
+import com.dockflow.backend.repository.document.UploadSessionRepository;
+import com.dockflow.backend.service.file.FileStorageService;
+import com.dockflow.backend.service.file.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+    private static final String UPLOAD_ID = "5b0f8c1e-2d5a-4b7e-9c43-0a6f1d2e3b4c";
+    private static final String MEMBER_ID = "hong";
+    private static final String PART_FILE = "/data/staging/upload.part";
+
+    private final UploadSessionRepository uploadSessionRepository = mock(UploadSessionRepository.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final DocumentRegistrationService documentRegistrationService = mock(DocumentRegistrationService.class);
+
+    private ChunkedUploadService chunkedUploadService;
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        chunkedUploadService = new ChunkedUploadService(uploadSessionRepository, fileStorageService, mock(FileTextExtractor.class),
+                documentRegistrationService, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(chunkedUploadService, "expireHours", 24L);
+        ReflectionTestUtils.setField(chunkedUploadService, "writeTimeoutSeconds", 600L);
+
+        // 청크 2개 (4B + 2B)
+        session = UploadSession.builder()
+                .uploadId(UPLOAD_ID)
+                .member(Member.builder().memberId(MEMBER_ID).build())
+                .team(Team.builder().teamNo(1L).build())
+                .title("분기 보고서")
+                .category(Document.DocumentCategory.REPORT)
+                .originalFileName("보고서.pdf")
+                .partFilePath(PART_FILE)
+                .fileSize(6L)
+                .chunkSize(4)
+                .chunkCount(2)
+                .receivedChunks(new byte[1])
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build();
+
+        when(uploadSessionRepository.findByUploadId(UPLOAD_ID)).thenAnswer(invocation -> Optional.of(session));
+        when(uploadSessionRepository.findByUploadIdForUpdate(UPLOAD_ID)).thenAnswer(invocation -> Optional.of(session));
+
+        when(fileStorageService.finishPartFile(PART_FILE, "보고서.pdf"))
+                .thenReturn(new StoredFile(PART_FILE, "보고서.pdf", 6L, "ab12", FileType.PDF));
+        when(documentRegistrationService.register(eq(MEMBER_ID), any(), any()))
+                .thenReturn(Document.builder().documentNo(42L).filePath("/data/blobs/ab/12/ab12.pdf").build());
+    }
+
+    @Test
+    void completeIsIdempotent() {
+        receiveAllChunks();
+
+        UploadSessionResponse first = chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID);
+        UploadSessionResponse second = chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID);
+
+        assertThat(first.getStatus()).isEqualTo(UploadSession.UploadStatus.COMPLETED);
+        assertThat(first.getDocumentNo()).isEqualTo(42L);
+        assertThat(second.getStatus()).isEqualTo(UploadSession.UploadStatus.COMPLETED);
+        assertThat(second.getDocumentNo()).isEqualTo(42L);
+
+        verify(fileStorageService, times(1)).finishPartFile(any(), any());
+        verify(documentRegistrationService, times(1)).register(any(), any(), any());
+    }
+
+    @Test
+    void completeWhileAnotherCompletionRunsReturnsCurrentState() {
+        receiveAllChunks();
+        session.startCompleting();
+
+        UploadSessionResponse response = chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID);
+
+        assertThat(response.getStatus()).isEqualTo(UploadSession.UploadStatus.COMPLETING);
+        verify(fileStorageService, never()).finishPartFile(any(), any());
+        verify(documentRegistrationService, never()).register(any(), any(), any());
+    }
+
+    @Test
+    void chunksAreRejectedOnceCompletionStarts() {
+        receiveAllChunks();
+        session.startCompleting();
+
+        assertThatThrownBy(() -> uploadChunk(0)).isInstanceOf(IllegalArgumentException.class);
+        verify(fileStorageService, never()).writeChunk(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void completeWaitsForChunkWritesInFlight() {
+        receiveAllChunks();
+        session.beginWrite(LocalDateTime.now());
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(session.getStatus()).isEqualTo(UploadSession.UploadStatus.UPLOADING);
+
+        // 중단된 기록은 제한 시간이 지나면 완료를 막지 않음
+        session.beginWrite(LocalDateTime.now().minusHours(1));
+        assertThat(chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID).getStatus()).isEqualTo(UploadSession.UploadStatus.COMPLETED);
+    }
+
+    @Test
+    void completeRequiresAllChunks() {
+        uploadChunk(0);
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(session.getStatus()).isEqualTo(UploadSession.UploadStatus.UPLOADING);
+    }
+
+    @Test
+    void transientFinishFailureAllowsRetry() {
+        receiveAllChunks();
+        when(fileStorageService.finishPartFile(PART_FILE, "보고서.pdf"))
+                .thenThrow(new RuntimeException("파일 저장에 실패했습니다."))
+                .thenReturn(new StoredFile(PART_FILE, "보고서.pdf", 6L, "ab12", FileType.PDF));
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID)).isInstanceOf(RuntimeException.class);
+        assertThat(session.getStatus()).isEqualTo(UploadSession.UploadStatus.UPLOADING);
+
+        assertThat(chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID).getDocumentNo()).isEqualTo(42L);
+    }
+
+    @Test
+    void invalidContentDiscardsUpload() {
+        receiveAllChunks();
+        when(fileStorageService.finishPartFile(PART_FILE, "보고서.pdf"))
+                .thenThrow(new IllegalArgumentException("파일 내용이 확장자와 일치하지 않습니다. : 보고서.pdf"));
+
+        assertThatThrownBy(() -> chunkedUploadService.complete(UPLOAD_ID, MEMBER_ID)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(uploadSessionRepository).delete(session);
+        verify(fileStorageService).deleteFile(PART_FILE);
+        verify(documentRegistrationService, never()).register(any(), any(), any());
+    }
+
+    @Test
+    void failedChunkWriteIsNotRecorded() {
+        doThrow(new RuntimeException("청크 저장에 실패했습니다.")).when(fileStorageService).writeChunk(any(), anyLong(), anyLong(), any());
+
+        assertThatThrownBy(() -> uploadChunk(0)).isInstanceOf(RuntimeException.class);
+
+        assertThat(session.isReceived(0)).isFalse();
+        assertThat(session.getActiveWrites()).isZero();
+    }
+
+    private void receiveAllChunks() {
+        uploadChunk(0);
+        uploadChunk(1);
+        assertThat(session.isAllReceived()).isTrue();
+        assertThat(session.getActiveWrites()).isZero();
+    }
+
+    private UploadSessionResponse uploadChunk(int index) {
+        long length = session.lengthOf(index);
+        return chunkedUploadService.uploadChunk(UPLOAD_ID, index, new ByteArrayInputStream(new byte[(int) length]), length, MEMBER_ID);
+    }
+}
@@ -0,0 +1,114 @@
+package com.dockflow.backend.service.document;
+
+import com.dockflow.backend.entity.document.Document;
+import com.dockflow.backend.entity.document.SummaryJob;
+import com.dockflow.backend.repository.document.DocumentRepository;
+import com.dockflow.backend.repository.document.SummaryJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SummaryJobServiceTest {
+
+    private static final long JOB_NO = 1L;
+
+    private final SummaryJobRepository summaryJobRepository = mock(SummaryJobRepository.class);
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final SummaryJobService summaryJobService = new SummaryJobService(summaryJobRepository, documentRepository);
+
+    private SummaryJob job;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(summaryJobService, "leaseSeconds", 600L);
+        ReflectionTestUtils.setField(summaryJobService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(summaryJobService, "retryBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(summaryJobService, "maxBackoffSeconds", 1800L);
+
+        job = SummaryJob.builder()
+                .jobNo(JOB_NO)
+                .document(Document.builder().documentNo(10L).build())
+                .nextRunAt(LocalDateTime.now())
+                .build();
+
+        when(summaryJobRepository.findRunnableForUpdate(any(), anyInt())).thenAnswer(invocation -> List.of(job));
+        when(summaryJobRepository.findByIdForUpdate(JOB_NO)).thenAnswer(invocation -> Optional.of(job));
+    }
+
+    @Test
+    void completesWhileLeased() {
+        SummaryJobService.ClaimedJob claimed = claim("worker-a");
+
+        assertThat(summaryJobService.completeIfLeased(claimed)).isTrue();
+        assertThat(job.getStatus()).isEqualTo(SummaryJob.JobStatus.COMPLETED);
+    }
+
+    @Test
+    void lateResultIsDroppedAfterAnotherWorkerReclaims() {
+        SummaryJobService.ClaimedJob stale = claim("worker-a");
+        SummaryJobService.ClaimedJob current = claim("worker-b");
+
+        assertThat(summaryJobService.completeIfLeased(stale)).isFalse();
+        assertThat(summaryJobService.renew(stale)).isFalse();
+        assertThat(job.getStatus()).isEqualTo(SummaryJob.JobStatus.RUNNING);
+        assertThat(job.getLockedBy()).isEqualTo("worker-b");
+
+        assertThat(summaryJobService.completeIfLeased(current)).isTrue();
+    }
+
+    @Test
+    void earlierClaimBySameWorkerIsStale() {
+        SummaryJobService.ClaimedJob first = claim("worker-a");
+        SummaryJobService.ClaimedJob second = claim("worker-a");
+
+        assertThat(summaryJobService.completeIfLeased(first)).isFalse();
+        assertThat(summaryJobService.completeIfLeased(second)).isTrue();
+    }
+
+    @Test
+    void renewExtendsLease() {
+        SummaryJobService.ClaimedJob claimed = claim("worker-a");
+        ReflectionTestUtils.setField(job, "leaseUntil", LocalDateTime.now().plusSeconds(5));
+
+        assertThat(summaryJobService.renew(claimed)).isTrue();
+        assertThat(job.getLeaseUntil()).isAfter(LocalDateTime.now().plusSeconds(500));
+    }
+
+    @Test
+    void staleFailureAndReleaseLeaveCurrentLeaseAlone() {
+        SummaryJobService.ClaimedJob stale = claim("worker-a");
+        claim("worker-b");
+
+        summaryJobService.fail(stale, new RuntimeException("timeout"));
+        summaryJobService.release(stale);
+
+        assertThat(job.getStatus()).isEqualTo(SummaryJob.JobStatus.RUNNING);
+        assertThat(job.getLockedBy()).isEqualTo("worker-b");
+        assertThat(job.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void completedJobCannotBeCompletedAgain() {
+        SummaryJobService.ClaimedJob claimed = claim("worker-a");
+
+        assertThat(summaryJobService.completeIfLeased(claimed)).isTrue();
+        assertThat(summaryJobService.completeIfLeased(claimed)).isFalse();
+        assertThat(summaryJobService.renew(claimed)).isFalse();
+    }
+
+    private SummaryJobService.ClaimedJob claim(String workerId) {
+        List<SummaryJobService.ClaimedJob> claimed = summaryJobService.claim(workerId, 1);
+        assertThat(claimed).hasSize(1);
+        return claimed.get(0);
+    }
+}
@@ -0,0 +1,180 @@
+package com.dockflow.backend.service.file;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceTest {
+
+    private static final String CONTENT = "0123456789";
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015";
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    private final FileDownloadService fileDownloadService = new FileDownloadService();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sendsWholeFileWithValidators() throws IOException {
+        MockHttpServletResponse response = send(get());
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(10L);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+    }
+
+    @Test
+    void sendsClosedRange() throws IOException {
+        assertPartial(send(range("bytes=2-5")), "2345", "bytes 2-5/10");
+    }
+
+    @Test
+    void clampsRangeEndToFileSize() throws IOException {
+        assertPartial(send(range("bytes=2-100")), "23456789", "bytes 2-9/10");
+    }
+
+    @Test
+    void sendsOpenEndedRange() throws IOException {
+        assertPartial(send(range("bytes=7-")), "789", "bytes 7-9/10");
+    }
+
+    @Test
+    void sendsSuffixRange() throws IOException {
+        assertPartial(send(range("bytes=-3")), "789", "bytes 7-9/10");
+        assertPartial(send(range("bytes=-20")), CONTENT, "bytes 0-9/10");
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws IOException {
+        for (String header : new String[]{"bytes=10-", "bytes=15-20", "bytes=-0"}) {
+            MockHttpServletResponse response = send(range(header));
+
+            assertThat(response.getStatus()).as(header).isEqualTo(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).as(header).isEqualTo("bytes */10");
+        }
+    }
+
+    @Test
+    void ignoresMultipleAndMalformedRanges() throws IOException {
+        for (String header : new String[]{"bytes=0-1,4-5", "bytes=5-2", "bytes=a-b", "items=0-1", "bytes=3"}) {
+            MockHttpServletResponse response = send(range(header));
+
+            assertThat(response.getStatus()).as(header).isEqualTo(HttpServletResponse.SC_OK);
+            assertThat(response.getContentAsString()).as(header).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void notModifiedWhenETagMatches() throws IOException {
+        for (String header : new String[]{ETAG, "W/" + ETAG, "\"other\", " + ETAG, "*"}) {
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, header);
+
+            MockHttpServletResponse response = send(request);
+
+            assertThat(response.getStatus()).as(header).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+            assertThat(response.getContentAsByteArray()).as(header).isEmpty();
+            assertThat(response.getHeader(HttpHeaders.ETAG)).as(header).isEqualTo(ETAG);
+        }
+    }
+
+    @Test
+    void sendsWholeFileWhenETagDiffers() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void honorsRangeOnlyWhenIfRangeMatches() throws IOException {
+        MockHttpServletRequest matching = range("bytes=2-5");
+        matching.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        assertPartial(send(matching), "2345", "bytes 2-5/10");
+
+        MockHttpServletRequest stale = range("bytes=2-5");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse response = send(stale);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void headSendsHeadersWithoutBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/documents/1/download");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(4L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void usesSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = range("bytes=2-5");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+    }
+
+    @Test
+    void missingFileIsNotFound() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.send(new DownloadFile(tempDir.resolve("missing.txt"), "missing.txt", HASH), get(), response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        Path path = tempDir.resolve(HASH + ".txt");
+        if (!Files.exists(path)) {
+            Files.writeString(path, CONTENT, StandardCharsets.UTF_8);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.send(new DownloadFile(path, "보고서.txt", HASH), request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/documents/1/download");
+    }
+
+    private static MockHttpServletRequest range(String header) {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, header);
+        return request;
+    }
+
+    private static void assertPartial(MockHttpServletResponse response, String body, String contentRange) throws IOException {
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo(contentRange);
+        assertThat(response.getContentLengthLong()).isEqualTo((long) body.length());
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+}
@@ -0,0 +1,184 @@
+package com.dockflow.backend.service.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "----DocflowBoundary7MA4YWxkTrZu0gW";
+
+    // 파서 내부 버퍼 크기
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Test
+    void parsesFieldsAndFile() throws IOException {
+        byte[] body = body(null, null,
+                field("title", "분기 보고서"),
+                file("file", "C:\\Users\\홍길동\\보고서.pdf", "%PDF-1.7 본문".getBytes(StandardCharsets.UTF_8)));
+
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY);
+
+        MultipartStreamParser.Part title = parser.nextPart();
+        assertThat(title.getName()).isEqualTo("title");
+        assertThat(title.isFile()).isFalse();
+        assertThat(title.readString()).isEqualTo("분기 보고서");
+
+        MultipartStreamParser.Part file = parser.nextPart();
+        assertThat(file.getName()).isEqualTo("file");
+        assertThat(file.getFileName()).isEqualTo("보고서.pdf");
+        assertThat(file.getContentType()).isEqualTo("application/octet-stream");
+        assertThat(file.getInputStream().readAllBytes()).isEqualTo("%PDF-1.7 본문".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(parser.nextPart()).isNull();
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void ignoresPreambleAndEpilogue() throws IOException {
+        byte[] body = body("preamble\r\n--not-the-boundary\r\n", "\r\nepilogue --" + BOUNDARY + "\r\n",
+                field("title", "제목"));
+
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY);
+
+        MultipartStreamParser.Part title = parser.nextPart();
+        assertThat(title.getName()).isEqualTo("title");
+        assertThat(title.readString()).isEqualTo("제목");
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void findsDelimiterStraddlingBufferBoundary() throws IOException {
+        int headerLength = file("file", "a.bin", new byte[0]).length;
+
+        // 구분자가 버퍼 끝을 걸치도록 파일 크기를 앞뒤로 옮겨 가며 확인 (첫 버퍼에는 앞의 CRLF 2바이트가 먼저 들어 있음)
+        for (int shift = -BOUNDARY.length() - 8; shift <= 8; shift++) {
+            int size = BUFFER_SIZE - 2 - headerLength + shift;
+            byte[] content = randomBytes(size, shift);
+
+            for (int readSize : new int[]{BUFFER_SIZE, 4096, 7}) {
+                InputStream in = new ChunkedInputStream(body(null, null, file("file", "a.bin", content)), readSize);
+                MultipartStreamParser parser = new MultipartStreamParser(in, BOUNDARY);
+
+                MultipartStreamParser.Part part = parser.nextPart();
+                assertThat(part.getInputStream().readAllBytes()).as("shift=%d, readSize=%d", shift, readSize).isEqualTo(content);
+                assertThat(parser.nextPart()).isNull();
+            }
+        }
+    }
+
+    @Test
+    void contentResemblingDelimiterIsKept() throws IOException {
+        byte[] content = ("앞\r\n--" + BOUNDARY.substring(0, BOUNDARY.length() - 1) + "X\r\n뒤").getBytes(StandardCharsets.UTF_8);
+
+        MultipartStreamParser parser = new MultipartStreamParser(
+                new ChunkedInputStream(body(null, null, file("file", "a.txt", content)), 5), BOUNDARY);
+
+        assertThat(parser.nextPart().getInputStream().readAllBytes()).isEqualTo(content);
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void skipsUnreadPartBody() throws IOException {
+        byte[] body = body(null, null,
+                file("file", "a.bin", randomBytes(200_000, 1)),
+                field("title", "제목"));
+
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY);
+
+        assertThat(parser.nextPart().isFile()).isTrue();
+        assertThat(parser.nextPart().readString()).isEqualTo("제목");
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void truncatedBodyFails() throws IOException {
+        byte[] body = body(null, null, file("file", "a.bin", randomBytes(100_000, 2)));
+        byte[] truncated = Arrays.copyOf(body, body.length - BOUNDARY.length() - 10);
+
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(truncated), BOUNDARY);
+        InputStream part = parser.nextPart().getInputStream();
+
+        assertThatThrownBy(part::readAllBytes).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void truncatedHeadersFail() {
+        byte[] truncated = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"title\"\r\n").getBytes(StandardCharsets.UTF_8);
+
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(truncated), BOUNDARY);
+
+        assertThatThrownBy(parser::nextPart).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void extractsBoundaryFromContentType() {
+        assertThat(MultipartStreamParser.boundary("multipart/form-data; boundary=" + BOUNDARY)).isEqualTo(BOUNDARY);
+        assertThat(MultipartStreamParser.boundary("multipart/form-data; boundary=\"a b\"; charset=UTF-8")).isEqualTo("a b");
+        assertThatThrownBy(() -> MultipartStreamParser.boundary("application/json")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MultipartStreamParser.boundary("multipart/form-data")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] body(String preamble, String epilogue, byte[]... parts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (preamble != null) {
+            out.write(preamble.getBytes(StandardCharsets.UTF_8));
+        }
+        for (byte[] part : parts) {
+            out.write(part);
+            out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(("--" + BOUNDARY + "--").getBytes(StandardCharsets.UTF_8));
+        if (epilogue != null) {
+            out.write(epilogue.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] field(String name, String value) throws IOException {
+        return part("Content-Disposition: form-data; name=\"" + name + "\"\r\n", value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] file(String name, String fileName, byte[] content) throws IOException {
+        return part("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n", content);
+    }
+
+    private static byte[] part(String headers, byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + BOUNDARY + "\r\n" + headers + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        return out.toByteArray();
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    // 한 번에 최대 readSize바이트만 돌려주는 스트림 (네트워크에서 나눠 도착하는 요청 본문)
+    private static class ChunkedInputStream extends ByteArrayInputStream {
+
+        private final int readSize;
+
+        ChunkedInputStream(byte[] data, int readSize) {
+            super(data);
+            this.readSize = readSize;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, readSize));
+        }
+    }
+}